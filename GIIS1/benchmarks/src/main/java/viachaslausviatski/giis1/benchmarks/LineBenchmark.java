@@ -0,0 +1,90 @@
+package viachaslausviatski.giis1.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import viachaslausviatski.giis1.LineRasterizer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The three LineDrawingApp algorithms swept over length and slope. Every filled rectangle is
+ * written pixel by pixel to an in-memory {@code PixelWriter}; on a canvas each one is a separate
+ * {@code fillRect} call, which the {@code rects} counter reports.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineBenchmark {
+
+    private static final int SIZE = 4096;
+
+    @Param({"DDA", "BresenhamInteger", "Wu"})
+    private String algorithm;
+
+    @Param({"16", "256", "2048"})
+    private int length;
+
+    @Param({"0", "30", "45", "60", "90"})
+    private int angle;
+
+    private int x1, y1, x2, y2;
+    private LineRasterizer lineRasterizer;
+    private long pixelsPerOp;
+    private long rectsPerOp;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        double radians = Math.toRadians(angle);
+        int dx = (int) Math.round(length / 2.0 * Math.cos(radians));
+        int dy = (int) Math.round(length / 2.0 * Math.sin(radians));
+        x1 = SIZE / 2 - dx;
+        y1 = SIZE / 2 - dy;
+        x2 = SIZE / 2 + dx;
+        y2 = SIZE / 2 + dy;
+
+        MemoryPixelWriter pixelWriter = new MemoryPixelWriter(SIZE, SIZE);
+        long[] rects = new long[1];
+        lineRasterizer = new LineRasterizer((x, y, width, height) -> {
+            rects[0]++;
+            // Wu's partial coverage arrives as a fractional height, still one row of pixels
+            int columns = Math.max(1, (int) Math.ceil(width));
+            int rows = Math.max(1, (int) Math.ceil(height));
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    pixelWriter.setArgb((int) x + column, (int) y + row, 0xFF000000);
+                }
+            }
+        });
+        draw();
+        pixelsPerOp = pixelWriter.getWrites();
+        rectsPerOp = rects[0];
+    }
+
+    @Benchmark
+    public void rasterize(PixelCounter counter) {
+        draw();
+        counter.pixels += pixelsPerOp;
+        counter.rects += rectsPerOp;
+    }
+
+    private void draw() {
+        switch (algorithm) {
+            case "DDA" -> lineRasterizer.drawDDALine(x1, y1, x2, y2);
+            case "BresenhamInteger" -> lineRasterizer.drawBresenhamIntegerLine(x1, y1, x2, y2);
+            case "Wu" -> lineRasterizer.drawWuLine(x1, y1, x2, y2);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package viachaslausviatski.giis1.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reports pixel writes and filled rectangles next to the primary result, so throughput runs also
+ * show pixels and {@code fillRect} calls per time unit.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class PixelCounter {
+
+    public long pixels;
+
+    public long rects;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        pixels = 0;
+        rects = 0;
+    }
+}
@@ -25,12 +25,19 @@ public class LineDrawingApp extends Application {
     private Algorithm selectedAlgorithm = Algorithm.DDA;
     private Canvas canvas;
     private GraphicsContext gc;
+    private final LineRasterizer lineRasterizer = new LineRasterizer((x, y, width, height) -> gc.fillRect(x, y, width, height));
     private TextField startXField;
     private TextField startYField;
     private TextField endXField;
     private TextField endYField;
     private CheckBox debugCheckBox;
 
+    // area touched by the last drawing, the only part cleared before the next line is drawn
+    private double dirtyX;
+    private double dirtyY;
+    private double dirtyWidth;
+    private double dirtyHeight;
+
     private int startX_DDA = 50;
     private int startY_DDA = 50;
     private int endX_DDA = 550;
@@ -50,6 +57,8 @@ public class LineDrawingApp extends Application {
     public void start(Stage primaryStage) {
         canvas = new Canvas(600, 400);
         gc = canvas.getGraphicsContext2D();
+        lineRasterizer.setClip(0, 0, (int) canvas.getWidth(), (int) canvas.getHeight());
+        markAllDirty();
 
         ComboBox<Algorithm> algorithmComboBox = new ComboBox<>();
         algorithmComboBox.getItems().addAll(Algorithm.values());
@@ -118,140 +127,32 @@ public class LineDrawingApp extends Application {
     }
 
     private void drawLine(int x1, int y1, int x2, int y2) {
-        gc.clearRect(0, 0, gc.getCanvas().getWidth(), gc.getCanvas().getHeight());
+        gc.clearRect(dirtyX, dirtyY, dirtyWidth, dirtyHeight);
+        // the algorithms may step one pixel past the end point and Wu also covers the next row
+        dirtyX = Math.min(x1, x2) - 2;
+        dirtyY = Math.min(y1, y2) - 2;
+        dirtyWidth = Math.abs(x2 - x1) + 5;
+        dirtyHeight = Math.abs(y2 - y1) + 5;
         gc.setFill(Color.BLACK);
         switch (selectedAlgorithm) {
             case DDA:
-                drawDDALine(x1, y1, x2, y2);
+                lineRasterizer.drawDDALine(x1, y1, x2, y2);
                 break;
             case BresenhamInteger:
-                drawBresenhamIntegerLine(x1, y1, x2, y2);
+                lineRasterizer.drawBresenhamIntegerLine(x1, y1, x2, y2);
                 break;
             case Wu:
-                drawWuLine(x1, y1, x2, y2);
+                lineRasterizer.drawWuLine(x1, y1, x2, y2);
                 break;
         }
     }
 
 
-    private void drawDDALine(int x1, int y1, int x2, int y2) {
-        double dx = x2 - x1;
-        double dy = y2 - y1;
-        double steps = Math.max(Math.abs(dx), Math.abs(dy));
-        double xIncrement = dx / steps;
-        double yIncrement = dy / steps;
-        double x = x1;
-        double y = y1;
-
-        for (int i = 0; i <= steps; i++) {
-            gc.fillRect(Math.round(x), Math.round(y), 1, 1);
-            x += xIncrement;
-            y += yIncrement;
-        }
-    }
-
-    private void drawBresenhamIntegerLine(int x1, int y1, int x2, int y2) {
-        int dx = Math.abs(x2 - x1);
-        int dy = Math.abs(y2 - y1);
-        int sx = x1 < x2 ? 1 : -1;
-        int sy = y1 < y2 ? 1 : -1;
-        int err = dx - dy;
-
-        while (x1 != x2 || y1 != y2) {
-            gc.fillRect(x1, y1, 1, 1);
-            int e2 = 2 * err;
-            if (e2 > -dy) {
-                err -= dy;
-                x1 += sx;
-            }
-            if (e2 < dx) {
-                err += dx;
-                y1 += sy;
-            }
-        }
-    }
-
-    private void drawWuLine(int x1, int y1, int x2, int y2) {
-        int dx = Math.abs(x2 - x1);
-        int dy = Math.abs(y2 - y1);
-
-        boolean steep = dy > dx;
-
-        if (steep) {
-            int temp = x1;
-            x1 = y1;
-            y1 = temp;
-
-            temp = x2;
-            x2 = y2;
-            y2 = temp;
-        }
-
-        if (x1 > x2) {
-            int temp = x1;
-            x1 = x2;
-            x2 = temp;
-
-            temp = y1;
-            y1 = y2;
-            y2 = temp;
-        }
-
-        dx = x2 - x1;
-        dy = y2 - y1;
-
-        double gradient = (double) dy / dx;
-
-        int xend = Math.round(x1);
-        double yend = y1 + gradient * (xend - x1);
-        double xgap = 1 - fractionalPart(x1 + 0.5);
-
-        int xpxl1 = xend;
-        int ypxl1 = (int) Math.floor(yend);
-
-        if (steep) {
-            plot(ypxl1, xpxl1, fractionalPart(yend) * xgap);
-            plot(ypxl1 + 1, xpxl1, fractionalPart(yend) * (1 - xgap));
-        } else {
-            plot(xpxl1, ypxl1, fractionalPart(yend) * xgap);
-            plot(xpxl1, ypxl1 + 1, fractionalPart(yend) * (1 - xgap));
-        }
-
-        double intery = yend + gradient;
-
-        xend = Math.round(x2);
-        yend = y2 + gradient * (xend - x2);
-        xgap = fractionalPart(x2 + 0.5);
-
-        int xpxl2 = xend;
-        int ypxl2 = (int) Math.floor(yend);
-
-        if (steep) {
-            plot(ypxl2, xpxl2, fractionalPart(yend) * xgap);
-            plot(ypxl2 + 1, xpxl2, fractionalPart(yend) * (1 - xgap));
-        } else {
-            plot(xpxl2, ypxl2, fractionalPart(yend) * xgap);
-            plot(xpxl2, ypxl2 + 1, fractionalPart(yend) * (1 - xgap));
-        }
-
-        if (steep) {
-            for (int x = xpxl1 + 1; x < xpxl2; x++) {
-                plot((int) Math.floor(intery), x, fractionalPart(intery));
-                plot((int) Math.floor(intery) + 1, x, fractionalPart(intery));
-                intery += gradient;
-            }
-        } else {
-            for (int x = xpxl1 + 1; x < xpxl2; x++) {
-                plot(x, (int) Math.floor(intery), fractionalPart(intery));
-                plot(x, (int) Math.floor(intery) + 1, fractionalPart(intery));
-                intery += gradient;
-            }
-        }
-    }
-
-    private void plot(int x, int y, double intensity) {
-        gc.fillRect(x, y, 1, 1 - intensity);
-        gc.fillRect(x, y + 1, 1, intensity);
+    private void markAllDirty() {
+        dirtyX = 0;
+        dirtyY = 0;
+        dirtyWidth = canvas.getWidth();
+        dirtyHeight = canvas.getHeight();
     }
 
     private void plotPixel(int x, int y, double brightness) {
@@ -266,6 +167,8 @@ public class LineDrawingApp extends Application {
     }
 
     private void redraw() {
+        if (debugCheckBox.isSelected())
+            markAllDirty();
         switch (selectedAlgorithm) {
             case DDA:
                 if (debugCheckBox.isSelected()) {
@@ -0,0 +1,262 @@
+package viachaslausviatski.giis1;
+
+public class LineRasterizer {
+
+    @FunctionalInterface
+    public interface RectFiller {
+        void fillRect(double x, double y, double width, double height);
+    }
+
+    private static final int FIXED_SHIFT = 16;
+    private static final long FIXED_HALF = 1L << (FIXED_SHIFT - 1);
+
+    // how far the pixels of a walk may stray from the ideal segment: Wu covers the two rows below it
+    private static final int CLIP_MARGIN = 2;
+
+    private final RectFiller rectFiller;
+
+    private int clipMinX = Integer.MIN_VALUE;
+    private int clipMinY = Integer.MIN_VALUE;
+    private int clipMaxX = Integer.MAX_VALUE;
+    private int clipMaxY = Integer.MAX_VALUE;
+
+    // parameter range of the segment left by clip() and the steps of the walk it covers
+    private double enter;
+    private double exit;
+    private int firstStep;
+    private int lastStep;
+
+    public LineRasterizer(RectFiller rectFiller) {
+        this.rectFiller = rectFiller;
+    }
+
+    /**
+     * Limits drawing to {@code [minX, maxX) x [minY, maxY)}: the walks skip the steps outside it, so
+     * lines reaching far beyond the canvas cost only their visible part.
+     */
+    public void setClip(int minX, int minY, int maxX, int maxY) {
+        clipMinX = minX;
+        clipMinY = minY;
+        clipMaxX = maxX;
+        clipMaxY = maxY;
+    }
+
+    public void drawDDALine(int x1, int y1, int x2, int y2) {
+        int steps = Math.max(Math.abs(x2 - x1), Math.abs(y2 - y1));
+        if (steps == 0) {
+            drawPoint(x1, y1);
+            return;
+        }
+        if (!clip(x1, y1, x2, y2, steps, clipMinX, clipMinY, clipMaxX, clipMaxY))
+            return;
+
+        long xIncrement = fixedStep(x2 - x1, steps);
+        long yIncrement = fixedStep(y2 - y1, steps);
+        // starting half a pixel up makes the shift round like Math.round
+        long x = ((long) x1 << FIXED_SHIFT) + FIXED_HALF + xIncrement * firstStep;
+        long y = ((long) y1 << FIXED_SHIFT) + FIXED_HALF + yIncrement * firstStep;
+
+        for (int i = firstStep; i <= lastStep; i++) {
+            rectFiller.fillRect(x >> FIXED_SHIFT, y >> FIXED_SHIFT, 1, 1);
+            x += xIncrement;
+            y += yIncrement;
+        }
+    }
+
+    // a zero-length line is its single pixel, kept only inside the clip window
+    private void drawPoint(int x, int y) {
+        if (x >= clipMinX && x < clipMaxX && y >= clipMinY && y < clipMaxY)
+            rectFiller.fillRect(x, y, 1, 1);
+    }
+
+    // Liang-Barsky: the parameter range of the segment inside the clip window, widened by CLIP_MARGIN,
+    // turned into the steps firstStep..lastStep of a walk of the given length; false if it misses the window
+    private boolean clip(int x1, int y1, int x2, int y2, int steps, int minX, int minY, int maxX, int maxY) {
+        double dx = (double) x2 - x1;
+        double dy = (double) y2 - y1;
+        enter = 0;
+        exit = 1;
+        if (!clipEdge(-dx, (double) x1 - minX + CLIP_MARGIN)
+                || !clipEdge(dx, (double) maxX - 1 - x1 + CLIP_MARGIN)
+                || !clipEdge(-dy, (double) y1 - minY + CLIP_MARGIN)
+                || !clipEdge(dy, (double) maxY - 1 - y1 + CLIP_MARGIN))
+            return false;
+        firstStep = (int) Math.max(0, Math.floor(enter * steps) - 1);
+        lastStep = (int) Math.min(steps, Math.ceil(exit * steps) + 1);
+        return true;
+    }
+
+    // keeps the part of enter..exit where p * t <= q
+    private boolean clipEdge(double p, double q) {
+        if (p == 0)
+            return q >= 0;
+        double r = q / p;
+        if (p < 0)
+            enter = Math.max(enter, r);
+        else
+            exit = Math.min(exit, r);
+        return enter <= exit;
+    }
+
+    // delta / steps in 16.16 fixed point, rounded to nearest
+    private static long fixedStep(int delta, int steps) {
+        return Math.floorDiv(((long) delta << (FIXED_SHIFT + 1)) + steps, 2L * steps);
+    }
+
+    public void drawBresenhamIntegerLine(int x1, int y1, int x2, int y2) {
+        int dx = Math.abs(x2 - x1);
+        int dy = Math.abs(y2 - y1);
+        int sx = x1 < x2 ? 1 : -1;
+        int sy = y1 < y2 ? 1 : -1;
+
+        if (dx == 0 && dy == 0) {
+            // the run walks below divide by 2 * dx
+            drawPoint(x1, y1);
+            return;
+        }
+        if (!clip(x1, y1, x2, y2, Math.max(dx, dy), clipMinX, clipMinY, clipMaxX, clipMaxY))
+            return;
+        if (dx >= dy) {
+            drawXMajorLine(x1, y1, dx, dy, sx, sy);
+        } else {
+            drawYMajorLine(x1, y1, dy, dx, sy, sx);
+        }
+    }
+
+    // x moves every step and y at most once, so the pixels form horizontal runs of one rectangle each;
+    // after k steps y has moved floor((2 * dy * k + dx - 1) / (2 * dx)), so the walk can start at firstStep
+    private void drawXMajorLine(int x, int y, int dx, int dy, int sx, int sy) {
+        long numerator = dx - 1 + 2L * dy * firstStep;
+        x += sx * firstStep;
+        y += sy * (int) (numerator / (2L * dx));
+        long remainder = numerator % (2L * dx);
+        int runStart = x;
+        for (int k = firstStep; k < lastStep; k++) {
+            x += sx;
+            remainder += 2 * dy;
+            if (remainder >= 2 * dx) {
+                remainder -= 2 * dx;
+                rectFiller.fillRect(Math.min(runStart, x - sx), y, Math.abs(x - runStart), 1);
+                y += sy;
+                runStart = x;
+            }
+        }
+        rectFiller.fillRect(Math.min(runStart, x), y, Math.abs(x - runStart) + 1, 1);
+    }
+
+    private void drawYMajorLine(int x, int y, int dy, int dx, int sy, int sx) {
+        long numerator = dy - 1 + 2L * dx * firstStep;
+        y += sy * firstStep;
+        x += sx * (int) (numerator / (2L * dy));
+        long remainder = numerator % (2L * dy);
+        int runStart = y;
+        for (int k = firstStep; k < lastStep; k++) {
+            y += sy;
+            remainder += 2 * dx;
+            if (remainder >= 2 * dy) {
+                remainder -= 2 * dy;
+                rectFiller.fillRect(x, Math.min(runStart, y - sy), 1, Math.abs(y - runStart));
+                x += sx;
+                runStart = y;
+            }
+        }
+        rectFiller.fillRect(x, Math.min(runStart, y), 1, Math.abs(y - runStart) + 1);
+    }
+
+    public void drawWuLine(int x1, int y1, int x2, int y2) {
+        int dx = Math.abs(x2 - x1);
+        int dy = Math.abs(y2 - y1);
+
+        boolean steep = dy > dx;
+
+        if (steep) {
+            int temp = x1;
+            x1 = y1;
+            y1 = temp;
+
+            temp = x2;
+            x2 = y2;
+            y2 = temp;
+        }
+
+        if (x1 > x2) {
+            int temp = x1;
+            x1 = x2;
+            x2 = temp;
+
+            temp = y1;
+            y1 = y2;
+            y2 = temp;
+        }
+
+        dx = x2 - x1;
+        dy = y2 - y1;
+        // the walk runs along x of the swapped coordinates, so the window is swapped with them
+        boolean visible = steep
+                ? clip(x1, y1, x2, y2, dx, clipMinY, clipMinX, clipMaxY, clipMaxX)
+                : clip(x1, y1, x2, y2, dx, clipMinX, clipMinY, clipMaxX, clipMaxY);
+        if (!visible)
+            return;
+
+        // a zero-length line only blends its end point, which any finite gradient leaves in place
+        double gradient = dx == 0 ? 1 : (double) dy / dx;
+
+        int xend = Math.round(x1);
+        double yend = y1 + gradient * (xend - x1);
+        double xgap = 1 - fractionalPart(x1 + 0.5);
+
+        int xpxl1 = xend;
+        int ypxl1 = (int) Math.floor(yend);
+
+        if (steep) {
+            plot(ypxl1, xpxl1, fractionalPart(yend) * xgap);
+            plot(ypxl1 + 1, xpxl1, fractionalPart(yend) * (1 - xgap));
+        } else {
+            plot(xpxl1, ypxl1, fractionalPart(yend) * xgap);
+            plot(xpxl1, ypxl1 + 1, fractionalPart(yend) * (1 - xgap));
+        }
+
+        double intery = yend + gradient;
+
+        xend = Math.round(x2);
+        yend = y2 + gradient * (xend - x2);
+        xgap = fractionalPart(x2 + 0.5);
+
+        int xpxl2 = xend;
+        int ypxl2 = (int) Math.floor(yend);
+
+        if (steep) {
+            plot(ypxl2, xpxl2, fractionalPart(yend) * xgap);
+            plot(ypxl2 + 1, xpxl2, fractionalPart(yend) * (1 - xgap));
+        } else {
+            plot(xpxl2, ypxl2, fractionalPart(yend) * xgap);
+            plot(xpxl2, ypxl2 + 1, fractionalPart(yend) * (1 - xgap));
+        }
+
+        int from = Math.max(xpxl1 + 1, x1 + firstStep);
+        int to = Math.min(xpxl2, x1 + lastStep + 1);
+        intery += gradient * (from - xpxl1 - 1);
+        if (steep) {
+            for (int x = from; x < to; x++) {
+                plot((int) Math.floor(intery), x, fractionalPart(intery));
+                plot((int) Math.floor(intery) + 1, x, fractionalPart(intery));
+                intery += gradient;
+            }
+        } else {
+            for (int x = from; x < to; x++) {
+                plot(x, (int) Math.floor(intery), fractionalPart(intery));
+                plot(x, (int) Math.floor(intery) + 1, fractionalPart(intery));
+                intery += gradient;
+            }
+        }
+    }
+
+    private void plot(int x, int y, double intensity) {
+        rectFiller.fillRect(x, y, 1, 1 - intensity);
+        rectFiller.fillRect(x, y + 1, 1, intensity);
+    }
+
+    private double fractionalPart(double x) {
+        return x - Math.floor(x);
+    }
+}
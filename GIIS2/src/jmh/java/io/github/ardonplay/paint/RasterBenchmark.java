@@ -0,0 +1,64 @@
+package io.github.ardonplay.paint;
+
+import javafx.scene.paint.Color;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Common state of the rasterizer benchmarks: a headless {@link DrawServiceImpl} writing through a
+ * {@link PixelWriterTarget} into an in-memory {@code PixelWriter}, one {@code setArgb} per pixel, driven through printLine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class RasterBenchmark {
+
+    protected static final int SIZE = 4096;
+
+    protected int x1, y1, x2, y2;
+
+    private DrawServiceImpl drawService;
+    private long pixelsPerOp;
+
+    @Setup(Level.Trial)
+    public void setUpTarget() {
+        prepare();
+
+        MemoryPixelWriter pixelWriter = new MemoryPixelWriter(SIZE, SIZE);
+        drawService = new DrawServiceImpl(new PixelWriterTarget(pixelWriter, () -> SIZE, () -> SIZE));
+        drawService.setMode(mode());
+        render();
+        pixelsPerOp = pixelWriter.getWrites();
+    }
+
+    @Benchmark
+    public void rasterize(PixelCounter counter) {
+        render();
+        counter.pixels += pixelsPerOp;
+    }
+
+    /**
+     * Sets the two clicked points passed to printLine; called before the pixel count is taken.
+     */
+    protected abstract void prepare();
+
+    protected abstract String mode();
+
+    private void render() {
+        drawService.printLine(x1, y1, x2, y2, Color.BLACK);
+    }
+}
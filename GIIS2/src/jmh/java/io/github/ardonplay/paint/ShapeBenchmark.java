@@ -0,0 +1,25 @@
+package io.github.ardonplay.paint;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * drawCircle, fillCircle, drawAntialiasedCircle, drawEllipse, drawParabola and drawHyperbola as printLine draws them.
+ */
+public class ShapeBenchmark extends RasterBenchmark {
+
+    @Param({"Circle", "Disk", "VuCircle", "Ellipse", "Parabola", "Hyperbola"})
+    private String mode;
+
+    @Override
+    protected void prepare() {
+        x1 = SIZE / 2;
+        y1 = SIZE / 2;
+        x2 = SIZE / 2 + 300;
+        y2 = SIZE / 2 + 200;
+    }
+
+    @Override
+    protected String mode() {
+        return mode;
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.ardonplay.paint;
+
+import javafx.scene.paint.Color;
+
+public final class Colors {
+
+    private Colors() {
+    }
+
+    public static int argb(Color color) {
+        return argb(color.getRed(), color.getGreen(), color.getBlue(), color.getOpacity());
+    }
+
+    public static int argb(double red, double green, double blue, double opacity) {
+        int a = (int) Math.round(opacity * 255);
+        int r = (int) Math.round(red * a);
+        int g = (int) Math.round(green * a);
+        int b = (int) Math.round(blue * a);
+        return a << 24 | r << 16 | g << 8 | b;
+    }
+
+    /**
+     * Straight (non-premultiplied) ARGB of a premultiplied color, as {@code PixelWriter.setArgb} takes it.
+     */
+    public static int unpremultiplied(int argb) {
+        int a = argb >>> 24;
+        if (a == 0)
+            return 0;
+        if (a == 0xFF)
+            return argb;
+        int r = ((argb >> 16) & 0xFF) * 255 / a;
+        int g = ((argb >> 8) & 0xFF) * 255 / a;
+        int b = (argb & 0xFF) * 255 / a;
+        return a << 24 | r << 16 | g << 8 | b;
+    }
+}
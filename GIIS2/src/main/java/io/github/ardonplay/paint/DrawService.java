@@ -5,20 +5,57 @@ import javafx.util.Pair;
 
 public interface DrawService {
     void setMode(String mode);
-    void printLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color);
 
-    void basicLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color);
+    void printLine(int x1, int y1, int x2, int y2, Color color);
 
-    void bresenhamLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color);
+    void basicLine(int x1, int y1, int x2, int y2, Color color);
 
-    void vuLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color);
+    void bresenhamLine(int x1, int y1, int x2, int y2, Color color);
 
-    void drawCircle(Pair<Integer, Integer> center, Color color);
+    void vuLine(int x1, int y1, int x2, int y2, Color color);
 
-    void drawEllipse(Pair<Integer, Integer> center, int a, int b, Color color);
+    void drawCircle(int centerX, int centerY, int radius, Color color);
 
-    void drawParabola(Pair<Integer, Integer> focus, int a, int direction, Color color);
+    void fillCircle(int centerX, int centerY, int radius, Color color);
 
-    void drawHyperbola(Pair<Integer, Integer> center, int a, int b, Color color);
+    void drawAntialiasedCircle(int centerX, int centerY, int radius, Color color);
+
+    void drawEllipse(int centerX, int centerY, int a, int b, Color color);
+
+    void drawParabola(int vertexX, int vertexY, int halfWidth, int height, Color color);
+
+    void drawHyperbola(int centerX, int centerY, int a, int b, Color color);
+
+    default void printLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color) {
+        printLine(firstPoint.getKey(), firstPoint.getValue(), secondPoint.getKey(), secondPoint.getValue(), color);
+    }
+
+    default void basicLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color) {
+        basicLine(firstPoint.getKey(), firstPoint.getValue(), secondPoint.getKey(), secondPoint.getValue(), color);
+    }
+
+    default void bresenhamLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color) {
+        bresenhamLine(firstPoint.getKey(), firstPoint.getValue(), secondPoint.getKey(), secondPoint.getValue(), color);
+    }
+
+    default void vuLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color) {
+        vuLine(firstPoint.getKey(), firstPoint.getValue(), secondPoint.getKey(), secondPoint.getValue(), color);
+    }
+
+    default void drawCircle(Pair<Integer, Integer> center, int radius, Color color) {
+        drawCircle(center.getKey(), center.getValue(), radius, color);
+    }
+
+    default void drawEllipse(Pair<Integer, Integer> center, int a, int b, Color color) {
+        drawEllipse(center.getKey(), center.getValue(), a, b, color);
+    }
+
+    default void drawParabola(Pair<Integer, Integer> vertex, int halfWidth, int height, Color color) {
+        drawParabola(vertex.getKey(), vertex.getValue(), halfWidth, height, color);
+    }
+
+    default void drawHyperbola(Pair<Integer, Integer> center, int a, int b, Color color) {
+        drawHyperbola(center.getKey(), center.getValue(), a, b, color);
+    }
 
 }
@@ -1,36 +1,50 @@
 package io.github.ardonplay.paint;
 
+import io.github.ardonplay.paint.core.Framebuffer;
+import io.github.ardonplay.paint.core.Rasterizer;
 import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.util.Pair;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.paint.Color;
 
+import java.nio.IntBuffer;
+
+/**
+ * Rasterizes each primitive into a {@link Framebuffer} and uploads the rectangle it covers into the
+ * canvas with a single {@code setPixels} call.
+ */
 public class LinesController {
     private Canvas canvas;
-    private Pair<Integer, Integer> firstPoint;
-    private Pair<Integer, Integer> secondPoint;
+    private int firstX;
+    private int firstY;
 
+    private final Framebuffer framebuffer;
     private final DrawService drawService;
+    private final int[] bounds = new int[4];
+    private String mode;
     private boolean tapped;
 
     public LinesController(Canvas canvas) {
         this.canvas = canvas;
-        GraphicsContext gc = canvas.getGraphicsContext2D();
-        this.drawService = new DrawServiceImpl(gc.getPixelWriter());
+        this.framebuffer = new Framebuffer((int) canvas.getWidth(), (int) canvas.getHeight());
+        this.drawService = new DrawServiceImpl(framebuffer);
     }
 
     public void subscribe(String mode) {
+        this.mode = mode;
         drawService.setMode(mode);
         this.canvas.setOnMousePressed(event -> {
             int x = (int) event.getX();
             int y = (int) event.getY();
 
             if (!tapped) {
-                firstPoint = new Pair<>(x, y);
+                firstX = x;
+                firstY = y;
                 tapped = true;
             } else {
-                secondPoint = new Pair<>(x, y);
-                drawService.printLine(firstPoint, secondPoint, Color.BLACK);
+                // the canvas follows the window, the framebuffer catches up before drawing
+                framebuffer.resize((int) canvas.getWidth(), (int) canvas.getHeight());
+                drawService.printLine(firstX, firstY, x, y, Color.BLACK);
+                present(firstX, firstY, x, y);
                 tapped = false;
             }
         });
@@ -40,4 +54,27 @@ public class LinesController {
         this.canvas.setOnMousePressed(event -> {
         });
     }
-}
\ No newline at end of file
+
+    private void present(int x1, int y1, int x2, int y2) {
+        int width = framebuffer.getWidth();
+        int height = framebuffer.getHeight();
+        int minX = 0;
+        int minY = 0;
+        int maxX = width;
+        int maxY = height;
+        if (Rasterizer.bounds(mode, x1, y1, x2, y2, bounds)) {
+            minX = Math.max(bounds[0], 0);
+            minY = Math.max(bounds[1], 0);
+            maxX = Math.min(bounds[2] + 1, width);
+            maxY = Math.min(bounds[3] + 1, height);
+        }
+        if (minX >= maxX || minY >= maxY)
+            return;
+
+        IntBuffer pixels = framebuffer.getPixels();
+        // the pixel writer reads from the buffer's position
+        pixels.position(minY * width + minX);
+        canvas.getGraphicsContext2D().getPixelWriter()
+                .setPixels(minX, minY, maxX - minX, maxY - minY, PixelFormat.getIntArgbPreInstance(), pixels, width);
+    }
+}
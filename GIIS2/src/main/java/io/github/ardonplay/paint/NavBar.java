@@ -1,5 +1,7 @@
 package io.github.ardonplay.paint;
 
+import io.github.ardonplay.paint.core.RasterAlgorithm;
+import io.github.ardonplay.paint.core.RasterAlgorithms;
 import javafx.collections.FXCollections;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.control.ComboBox;
@@ -14,7 +16,7 @@ public class NavBar extends HBox {
         this.linesController = new LinesController(canvas);
 
         ComboBox<String> lineSelector = new ComboBox<>();
-        lineSelector.setItems(FXCollections.observableArrayList("DDA", "Bresenham", "Vu", "Circle", "Ellipse", "Parabola", "Hyperbola"));
+        lineSelector.setItems(FXCollections.observableArrayList(RasterAlgorithms.modes(RasterAlgorithm.Kind.LINE, RasterAlgorithm.Kind.CONIC)));
         lineSelector.setPromptText("Lines");
 
         lineSelector.getSelectionModel().selectedItemProperty().addListener((options, oldValue, newValue) -> {
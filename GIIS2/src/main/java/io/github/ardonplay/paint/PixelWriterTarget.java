@@ -0,0 +1,38 @@
+package io.github.ardonplay.paint;
+
+import io.github.ardonplay.paint.core.RasterTarget;
+import javafx.scene.image.PixelWriter;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Writes straight through a {@link PixelWriter}, one call per pixel. The size is read on every
+ * call so the target follows a canvas that is resized with the window.
+ */
+public class PixelWriterTarget implements RasterTarget {
+
+    private final PixelWriter pixelWriter;
+    private final IntSupplier width;
+    private final IntSupplier height;
+
+    public PixelWriterTarget(PixelWriter pixelWriter, IntSupplier width, IntSupplier height) {
+        this.pixelWriter = pixelWriter;
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public int getWidth() {
+        return width.getAsInt();
+    }
+
+    @Override
+    public int getHeight() {
+        return height.getAsInt();
+    }
+
+    @Override
+    public void setPixel(int x, int y, int argb) {
+        pixelWriter.setArgb(x, y, Colors.unpremultiplied(argb));
+    }
+}
@@ -1,4 +1,6 @@
 module io.github.ardonplay.paint {
+    requires io.github.ardonplay.paint.core;
+
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.web;
@@ -0,0 +1,69 @@
+package io.github.ardonplay.paint.core;
+
+import java.nio.IntBuffer;
+
+/**
+ * Premultiplied ARGB arithmetic backed by a 256x256 multiplication table.
+ */
+public final class AlphaBlend {
+
+    private static final byte[] MULTIPLY = new byte[256 * 256];
+
+    static {
+        for (int a = 0; a < 256; a++) {
+            for (int b = 0; b < 256; b++) {
+                MULTIPLY[a << 8 | b] = (byte) ((a * b + 127) / 255);
+            }
+        }
+    }
+
+    private AlphaBlend() {
+    }
+
+    public static int multiply(int a, int b) {
+        return MULTIPLY[a << 8 | b] & 0xFF;
+    }
+
+    public static int scale(int argb, int alpha) {
+        if (alpha >= 255)
+            return argb;
+        return multiply(argb >>> 24, alpha) << 24
+                | multiply((argb >> 16) & 0xFF, alpha) << 16
+                | multiply((argb >> 8) & 0xFF, alpha) << 8
+                | multiply(argb & 0xFF, alpha);
+    }
+
+    /**
+     * Source-over composition of two premultiplied colors.
+     */
+    public static int over(int dst, int src) {
+        int inverse = 255 - (src >>> 24);
+        if (inverse == 0)
+            return src;
+        return src + scale(dst, inverse);
+    }
+
+    /**
+     * Converts {@code count} premultiplied ARGB pixels starting at {@code offset} into straight
+     * (non-premultiplied) RGBA bytes.
+     */
+    public static void toRgba(IntBuffer pixels, int offset, int count, byte[] rgba, int rgbaOffset) {
+        for (int i = 0; i < count; i++) {
+            int argb = pixels.get(offset + i);
+            int a = argb >>> 24;
+            int o = rgbaOffset + i * 4;
+            if (a == 0) {
+                rgba[o] = rgba[o + 1] = rgba[o + 2] = rgba[o + 3] = 0;
+                continue;
+            }
+            rgba[o] = (byte) unpremultiply((argb >> 16) & 0xFF, a);
+            rgba[o + 1] = (byte) unpremultiply((argb >> 8) & 0xFF, a);
+            rgba[o + 2] = (byte) unpremultiply(argb & 0xFF, a);
+            rgba[o + 3] = (byte) a;
+        }
+    }
+
+    private static int unpremultiply(int channel, int alpha) {
+        return Math.min(255, (channel * 255 + alpha / 2) / alpha);
+    }
+}
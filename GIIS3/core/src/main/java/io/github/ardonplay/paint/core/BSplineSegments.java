@@ -0,0 +1,126 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * Splits a B-spline of any degree and knot vector into Bezier segments, one per non-empty knot
+ * span of its domain. A segment's Bezier points are a fixed linear combination of the
+ * {@code degree + 1} control points over the span (its basis matrix), obtained by blossoming with
+ * de Boor's algorithm. The matrix depends only on the knots around the span, so for uniform knots
+ * it is computed once per degree and every segment costs one small matrix product: the whole
+ * spline takes time linear in the number of control points.
+ */
+public class BSplineSegments {
+
+    @FunctionalInterface
+    public interface SegmentSink {
+        /**
+         * @param bezier {@code count} Bezier control points stored as {@code x0, y0, x1, y1, ...};
+         *               the array is reused for the next segment
+         */
+        void segment(double[] bezier, int count, int argb);
+    }
+
+    private final SegmentSink sink;
+
+    private double[] matrix = new double[0];
+    private int uniformDegree = -1;
+    private double[] bezier = new double[0];
+    private double[] deBoor = new double[0];
+    private double[] uniformKnots = new double[0];
+
+    public BSplineSegments(SegmentSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Draws the spline over the uniform knot vector {@code 0, 1, 2, ...}. The curve runs from the
+     * knot {@code degree} to the knot {@code count} and does not pass through the end points.
+     *
+     * @param points {@code count} control points stored as {@code x0, y0, x1, y1, ...}
+     */
+    public void uniform(int[] points, int count, int degree, int argb) {
+        int knotCount = count + degree + 1;
+        if (uniformKnots.length < knotCount) {
+            uniformKnots = new double[knotCount];
+            for (int i = 0; i < knotCount; i++) {
+                uniformKnots[i] = i;
+            }
+        }
+        segments(points, count, degree, uniformKnots, true, argb);
+    }
+
+    /**
+     * @param points {@code count} control points stored as {@code x0, y0, x1, y1, ...}
+     * @param knots  non-decreasing knot vector of {@code count + degree + 1} values
+     */
+    public void segments(int[] points, int count, int degree, double[] knots, int argb) {
+        if (knots.length < count + degree + 1)
+            throw new IllegalArgumentException("Expected " + (count + degree + 1) + " knots, got " + knots.length);
+        for (int i = 1; i < count + degree + 1; i++) {
+            if (knots[i] < knots[i - 1])
+                throw new IllegalArgumentException("Knot vector must be non-decreasing at " + i);
+        }
+        segments(points, count, degree, knots, false, argb);
+    }
+
+    private void segments(int[] points, int count, int degree, double[] knots, boolean uniform, int argb) {
+        if (degree < 1 || count <= degree)
+            return;
+
+        int order = degree + 1;
+        if (bezier.length < order * 2) {
+            bezier = new double[order * 2];
+            deBoor = new double[order];
+        }
+        if (matrix.length < order * order) {
+            matrix = new double[order * order];
+            uniformDegree = -1;
+        }
+
+        for (int span = degree; span < count; span++) {
+            if (knots[span] == knots[span + 1])
+                continue;
+            if (!uniform || uniformDegree != degree) {
+                basisMatrix(knots, span, degree);
+                uniformDegree = uniform ? degree : -1;
+            }
+
+            int first = span - degree;
+            for (int k = 0; k < order; k++) {
+                double x = 0;
+                double y = 0;
+                for (int i = 0; i < order; i++) {
+                    double weight = matrix[k * order + i];
+                    x += weight * points[2 * (first + i)];
+                    y += weight * points[2 * (first + i) + 1];
+                }
+                bezier[2 * k] = x;
+                bezier[2 * k + 1] = y;
+            }
+            sink.segment(bezier, order, argb);
+        }
+    }
+
+    /**
+     * Row {@code k} holds the weights of the control points in the blossom
+     * {@code f(u[span] x (degree - k), u[span + 1] x k)}, the k-th Bezier point of the span.
+     */
+    private void basisMatrix(double[] knots, int span, int degree) {
+        int order = degree + 1;
+        for (int k = 0; k < order; k++) {
+            for (int unit = 0; unit < order; unit++) {
+                for (int i = 0; i < order; i++) {
+                    deBoor[i] = i == unit ? 1 : 0;
+                }
+                for (int r = 1; r <= degree; r++) {
+                    double u = r <= degree - k ? knots[span] : knots[span + 1];
+                    for (int j = degree; j >= r; j--) {
+                        double left = knots[j + span - degree];
+                        double alpha = (u - left) / (knots[j + 1 + span - r] - left);
+                        deBoor[j] = (1 - alpha) * deBoor[j - 1] + alpha * deBoor[j];
+                    }
+                }
+                matrix[k * order + unit] = deBoor[degree];
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package io.github.ardonplay.paint.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Exports a mapped scene at any image size by rasterizing horizontal bands of
+ * {@code bandHeight} rows one after another and streaming each finished band out. Only one band
+ * is held in memory, so a 32768 x 32768 export needs {@code 32768 * bandHeight * 4} bytes of
+ * raster plus the primitive index; the records are indexed and drawn straight from the mapped file.
+ * The scene is drawn through a {@link Viewport} whose screen is the image, with the level of
+ * detail of {@link ViewportRenderer}, so an export can be scaled and panned like the canvas.
+ */
+public class BandExporter {
+
+    @FunctionalInterface
+    private interface BandSink {
+        void band(IntBuffer pixels, int top, int rows) throws IOException;
+    }
+
+    /**
+     * Longest array a band may need; virtual machines refuse lengths close to {@code Integer.MAX_VALUE}.
+     */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final int width;
+    private final int height;
+    private final int bandHeight;
+    private final Viewport viewport;
+
+    private int[] hits = new int[64];
+    private int hitCount;
+
+    public BandExporter(int width, int height, int bandHeight) {
+        this(width, height, bandHeight, new Viewport());
+    }
+
+    /**
+     * The band height is clamped to the image and to the rows whose RGBA bytes fit one array.
+     */
+    public BandExporter(int width, int height, int bandHeight, Viewport viewport) {
+        if (width <= 0 || height <= 0 || bandHeight <= 0)
+            throw new IllegalArgumentException("Image and band sizes must be positive");
+        // a PNG row holds a filter byte before the 4 bytes per pixel
+        int maxBandHeight = (MAX_ARRAY_LENGTH - 1) / 4 / width;
+        if (maxBandHeight == 0)
+            throw new IllegalArgumentException("Image width " + width + " exceeds " + (MAX_ARRAY_LENGTH - 1) / 4);
+        this.width = width;
+        this.height = height;
+        this.bandHeight = Math.min(Math.min(bandHeight, height), maxBandHeight);
+        this.viewport = viewport;
+    }
+
+    public int getBandHeight() {
+        return bandHeight;
+    }
+
+    public void exportPng(MappedScene scene, OutputStream out) throws IOException {
+        PngEncoder encoder = new PngEncoder(out, width, height);
+        render(scene, (pixels, top, rows) -> encoder.writeRows(pixels, rows, width));
+        encoder.finish();
+    }
+
+    /**
+     * Writes straight RGBA bytes, row after row without padding, from the channel's current position.
+     */
+    public void exportRaw(MappedScene scene, FileChannel channel) throws IOException {
+        byte[] rgba = new byte[width * bandHeight * 4];
+        ByteBuffer buffer = ByteBuffer.wrap(rgba);
+        render(scene, (pixels, top, rows) -> {
+            AlphaBlend.toRgba(pixels, 0, width * rows, rgba, 0);
+            buffer.clear().limit(width * rows * 4);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        });
+    }
+
+    private void render(MappedScene scene, BandSink sink) throws IOException {
+        ViewportRenderer renderer = new ViewportRenderer(viewport);
+        // indexed by image bounds, so a band queries its own rows
+        QuadTree index = new QuadTree();
+        int[] bounds = new int[4];
+        for (int i = 0; i < scene.size(); i++) {
+            if (renderer.bounds(scene.getMode(i), scene.getCoordinate(i, 0), scene.getCoordinate(i, 1),
+                    scene.getCoordinate(i, 2), scene.getCoordinate(i, 3), bounds))
+                index.insert(i, bounds[0], bounds[1], bounds[2], bounds[3]);
+            else
+                index.insert(i, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        }
+
+        Framebuffer band = new Framebuffer(width, bandHeight);
+        for (int top = 0; top < height; top += bandHeight) {
+            int rows = Math.min(bandHeight, height - top);
+            band.clear();
+
+            hitCount = 0;
+            index.query(0, top, width - 1, top + rows - 1, this::addHit);
+            Arrays.sort(hits, 0, hitCount);
+
+            renderer.begin(new Rasterizer(new BandTarget(band, width, height, top, top + rows)));
+            for (int i = 0; i < hitCount; i++) {
+                int id = hits[i];
+                renderer.add(scene.getMode(id), scene.getCoordinate(id, 0), scene.getCoordinate(id, 1),
+                        scene.getCoordinate(id, 2), scene.getCoordinate(id, 3), scene.getArgb(id));
+            }
+            renderer.finish();
+            sink.band(band.getPixels(), top, rows);
+        }
+    }
+
+    private void addHit(int id) {
+        if (hitCount == hits.length)
+            hits = Arrays.copyOf(hits, hitCount * 2);
+        hits[hitCount++] = id;
+    }
+
+    /**
+     * Image-space target that keeps rows {@code [top, bottom)} and stores them from the band's first row.
+     */
+    private static class BandTarget implements RasterTarget {
+
+        private final Framebuffer band;
+        private final int width;
+        private final int height;
+        private final int top;
+        private final int bottom;
+
+        BandTarget(Framebuffer band, int width, int height, int top, int bottom) {
+            this.band = band;
+            this.width = width;
+            this.height = height;
+            this.top = top;
+            this.bottom = bottom;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public int getMinY() {
+            return top;
+        }
+
+        @Override
+        public int getMaxY() {
+            return bottom;
+        }
+
+        @Override
+        public void setPixel(int x, int y, int argb) {
+            if (y < top || y >= bottom)
+                return;
+            band.setPixel(x, y - top, argb);
+        }
+
+        @Override
+        public void blendPixel(int x, int y, int argb, int alpha) {
+            if (y < top || y >= bottom)
+                return;
+            band.blendPixel(x, y - top, argb, alpha);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * Circles of any radius from one octant of the midpoint walk. The outline and the antialiased ring
+ * mirror each octant pixel into the other seven, skipping the mirrors that land on the axes or the
+ * diagonals, so no pixel is written twice. The disk is filled with one horizontal span per row.
+ */
+class CircleRasterizer {
+
+    private final RasterTarget target;
+
+    private final SpanWriter spans;
+
+    CircleRasterizer(RasterTarget target, SpanWriter spans) {
+        this.target = target;
+        this.spans = spans;
+    }
+
+    void outline(int centerX, int centerY, int radius, int argb) {
+        int x = radius;
+        int y = 0;
+        int decision = 1 - radius;
+        while (y <= x) {
+            plot8(centerX, centerY, x, y, argb);
+            if (decision > 0) {
+                x--;
+                decision += 2 * (y - x) + 3;
+            } else {
+                decision += 2 * y + 3;
+            }
+            y++;
+        }
+    }
+
+    /**
+     * Fills every pixel on and inside {@link #outline}. Rows below the diagonal take their half-width
+     * from {@code x}; the rows above it are emitted once, when {@code x} is about to step inwards.
+     */
+    void fill(int centerX, int centerY, int radius, int argb) {
+        if (radius < 0)
+            return;
+        int x = radius;
+        int y = 0;
+        int decision = 1 - radius;
+        while (y <= x) {
+            rows(centerX, centerY, y, x, argb);
+            if (decision > 0) {
+                if (x > y)
+                    rows(centerX, centerY, x, y, argb);
+                x--;
+                decision += 2 * (y - x) + 3;
+            } else {
+                decision += 2 * y + 3;
+            }
+            y++;
+        }
+    }
+
+    /**
+     * Wu's circle: the true edge {@code sqrt(r^2 - y^2)} is shared between the two pixels that straddle
+     * it in proportion to its fractional part, blended with 8-bit coverage.
+     */
+    void antialiased(int centerX, int centerY, int radius, int argb) {
+        long r2 = (long) radius * radius;
+        // the octant ends where the edge meets the diagonal, r^2 - y^2 = y^2
+        for (int y = 0; 2L * y * y <= r2; y++) {
+            double edge = Math.sqrt(r2 - (long) y * y);
+            int x = (int) edge;
+            int coverage = (int) ((edge - x) * 255 + 0.5);
+            blend8(centerX, centerY, x, y, 255 - coverage, argb);
+            blend8(centerX, centerY, x + 1, y, coverage, argb);
+        }
+    }
+
+    private void plot8(int centerX, int centerY, int x, int y, int argb) {
+        plot4(centerX, centerY, x, y, argb);
+        if (x != y)
+            plot4(centerX, centerY, y, x, argb);
+    }
+
+    private void plot4(int centerX, int centerY, int x, int y, int argb) {
+        target.setPixel(centerX + x, centerY + y, argb);
+        if (x != 0)
+            target.setPixel(centerX - x, centerY + y, argb);
+        if (y != 0) {
+            target.setPixel(centerX + x, centerY - y, argb);
+            if (x != 0)
+                target.setPixel(centerX - x, centerY - y, argb);
+        }
+    }
+
+    private void blend8(int centerX, int centerY, int x, int y, int coverage, int argb) {
+        if (coverage == 0)
+            return;
+        blend4(centerX, centerY, x, y, coverage, argb);
+        if (x != y)
+            blend4(centerX, centerY, y, x, coverage, argb);
+    }
+
+    private void blend4(int centerX, int centerY, int x, int y, int coverage, int argb) {
+        target.blendPixel(centerX + x, centerY + y, argb, coverage);
+        if (x != 0)
+            target.blendPixel(centerX - x, centerY + y, argb, coverage);
+        if (y != 0) {
+            target.blendPixel(centerX + x, centerY - y, argb, coverage);
+            if (x != 0)
+                target.blendPixel(centerX - x, centerY - y, argb, coverage);
+        }
+    }
+
+    /**
+     * Rows {@code centerY +- dy} from {@code centerX - halfWidth} to {@code centerX + halfWidth}.
+     */
+    private void rows(int centerX, int centerY, int dy, int halfWidth, int argb) {
+        spans.span(centerX - halfWidth, centerX + halfWidth + 1, centerY + dy, argb);
+        if (dy != 0)
+            spans.span(centerX - halfWidth, centerX + halfWidth + 1, centerY - dy, argb);
+    }
+}
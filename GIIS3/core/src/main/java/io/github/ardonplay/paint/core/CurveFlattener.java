@@ -0,0 +1,111 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * Flattens Bezier curves of any degree by adaptive de Casteljau subdivision. A piece is halved
+ * until it deviates from its chord by at most {@link #FLATNESS} pixels and is then handed to the
+ * {@link LineSink} as one segment, so the number of segments follows the length of the curve on
+ * screen. Pieces whose control polygon misses the clip window are dropped without subdividing.
+ */
+public class CurveFlattener {
+
+    public static final double FLATNESS = 0.5;
+
+    private static final int MAX_DEPTH = 16;
+
+    @FunctionalInterface
+    public interface LineSink {
+        void line(int x1, int y1, int x2, int y2, int argb);
+    }
+
+    private final LineSink sink;
+
+    private double[] polygons = new double[0];
+    private double[] work = new double[0];
+    private int stride;
+    private int degree;
+    private double flatnessLimit;
+
+    public CurveFlattener(LineSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * @param points {@code count} control points stored as {@code x0, y0, x1, y1, ...}
+     */
+    public void flatten(double[] points, int count, int argb, int minX, int minY, int maxX, int maxY) {
+        if (count < 1)
+            return;
+
+        degree = count - 1;
+        stride = count * 2;
+        int size = stride + 2 * stride * MAX_DEPTH;
+        if (polygons.length < size) {
+            polygons = new double[size];
+            work = new double[stride];
+        }
+        System.arraycopy(points, 0, polygons, 0, stride);
+
+        // a Bezier curve stays within n(n-1)/8 * max|P[i-1] - 2P[i] + P[i+1]| of its chord
+        double scale = degree * (degree - 1) / 8.0;
+        flatnessLimit = scale == 0 ? Double.POSITIVE_INFINITY : (FLATNESS / scale) * (FLATNESS / scale);
+
+        subdivide(0, 0, argb, minX - 1, minY - 1, maxX + 1, maxY + 1);
+    }
+
+    private void subdivide(int offset, int depth, int argb, int minX, int minY, int maxX, int maxY) {
+        double[] p = polygons;
+        int end = offset + stride;
+
+        double left = p[offset], right = left, top = p[offset + 1], bottom = top;
+        for (int i = offset + 2; i < end; i += 2) {
+            left = Math.min(left, p[i]);
+            right = Math.max(right, p[i]);
+            top = Math.min(top, p[i + 1]);
+            bottom = Math.max(bottom, p[i + 1]);
+        }
+        if (right < minX || bottom < minY || left >= maxX || top >= maxY)
+            return;
+
+        if (depth == MAX_DEPTH || isFlat(offset)) {
+            sink.line((int) Math.round(p[offset]), (int) Math.round(p[offset + 1]),
+                    (int) Math.round(p[end - 2]), (int) Math.round(p[end - 1]), argb);
+            return;
+        }
+
+        // every level has room for both halves, so the right half survives while the left one recurses
+        int leftHalf = stride + 2 * stride * depth;
+        int rightHalf = leftHalf + stride;
+        split(offset, leftHalf, rightHalf);
+        subdivide(leftHalf, depth + 1, argb, minX, minY, maxX, maxY);
+        subdivide(rightHalf, depth + 1, argb, minX, minY, maxX, maxY);
+    }
+
+    private boolean isFlat(int offset) {
+        double[] p = polygons;
+        for (int i = offset + 2, end = offset + stride - 2; i < end; i += 2) {
+            double ddx = p[i - 2] - 2 * p[i] + p[i + 2];
+            double ddy = p[i - 1] - 2 * p[i + 1] + p[i + 3];
+            if (ddx * ddx + ddy * ddy > flatnessLimit)
+                return false;
+        }
+        return true;
+    }
+
+    private void split(int source, int leftHalf, int rightHalf) {
+        double[] p = polygons;
+        System.arraycopy(p, source, work, 0, stride);
+        p[leftHalf] = work[0];
+        p[leftHalf + 1] = work[1];
+        p[rightHalf + stride - 2] = work[stride - 2];
+        p[rightHalf + stride - 1] = work[stride - 1];
+        for (int level = 1; level <= degree; level++) {
+            for (int j = 0, end = 2 * (degree - level + 1); j < end; j++) {
+                work[j] = (work[j] + work[j + 2]) * 0.5;
+            }
+            p[leftHalf + 2 * level] = work[0];
+            p[leftHalf + 2 * level + 1] = work[1];
+            p[rightHalf + 2 * (degree - level)] = work[2 * (degree - level)];
+            p[rightHalf + 2 * (degree - level) + 1] = work[2 * (degree - level) + 1];
+        }
+    }
+}
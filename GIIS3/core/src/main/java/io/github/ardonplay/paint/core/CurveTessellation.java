@@ -0,0 +1,16 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * How {@link Rasterizer} turns Bezier and Hermite curves into pixels.
+ */
+public enum CurveTessellation {
+    /**
+     * 101 evaluations at {@code t = 0, 0.01, ..., 1}, one pixel each; cubic curves are stepped by
+     * forward differencing.
+     */
+    FIXED_STEP,
+    /**
+     * Subdivision until flat within half a pixel, pieces drawn as Bresenham lines.
+     */
+    ADAPTIVE
+}
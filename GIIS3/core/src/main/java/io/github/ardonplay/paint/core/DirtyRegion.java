@@ -0,0 +1,96 @@
+package io.github.ardonplay.paint.core;
+
+import java.util.Arrays;
+
+/**
+ * A small set of rectangles {@code [minX, maxX) x [minY, maxY)} that need work. Overlapping or
+ * touching rectangles are merged, and once {@link #MAX_RECTANGLES} are held the next one collapses
+ * the whole set into its bounding box, so the set stays cheap to walk.
+ */
+public class DirtyRegion {
+
+    public static final int MAX_RECTANGLES = 8;
+
+    private final int[] rectangles = new int[MAX_RECTANGLES * 4];
+    private int count;
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getMinX(int index) {
+        return rectangles[index * 4];
+    }
+
+    public int getMinY(int index) {
+        return rectangles[index * 4 + 1];
+    }
+
+    public int getMaxX(int index) {
+        return rectangles[index * 4 + 2];
+    }
+
+    public int getMaxY(int index) {
+        return rectangles[index * 4 + 3];
+    }
+
+    public void add(int minX, int minY, int maxX, int maxY) {
+        if (minX >= maxX || minY >= maxY)
+            return;
+
+        // absorb every rectangle the new one touches; the grown rectangle may touch earlier ones again
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < count; i++) {
+                int offset = i * 4;
+                if (rectangles[offset] > maxX || rectangles[offset + 1] > maxY
+                        || rectangles[offset + 2] < minX || rectangles[offset + 3] < minY)
+                    continue;
+                minX = Math.min(minX, rectangles[offset]);
+                minY = Math.min(minY, rectangles[offset + 1]);
+                maxX = Math.max(maxX, rectangles[offset + 2]);
+                maxY = Math.max(maxY, rectangles[offset + 3]);
+                remove(i);
+                merged = true;
+                break;
+            }
+        }
+
+        if (count == MAX_RECTANGLES) {
+            for (int i = 0; i < count; i++) {
+                minX = Math.min(minX, getMinX(i));
+                minY = Math.min(minY, getMinY(i));
+                maxX = Math.max(maxX, getMaxX(i));
+                maxY = Math.max(maxY, getMaxY(i));
+            }
+            count = 0;
+        }
+
+        int offset = count++ * 4;
+        rectangles[offset] = minX;
+        rectangles[offset + 1] = minY;
+        rectangles[offset + 2] = maxX;
+        rectangles[offset + 3] = maxY;
+    }
+
+    public void add(DirtyRegion region) {
+        for (int i = 0; i < region.count; i++) {
+            add(region.getMinX(i), region.getMinY(i), region.getMaxX(i), region.getMaxY(i));
+        }
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    private void remove(int index) {
+        int last = --count * 4;
+        System.arraycopy(rectangles, last, rectangles, index * 4, 4);
+        Arrays.fill(rectangles, last, last + 4, 0);
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.ardonplay.paint.core;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Headless export of a saved scene:
+ * {@code ExportCommand <scene> <width> <height> <output.png|output.rgba> [band height] [scale] [origin x] [origin y]}.
+ * The image shows the scene as a canvas with that viewport would: world point {@code (origin x, origin y)}
+ * lands on the top left pixel and world distances are multiplied by {@code scale}.
+ */
+public final class ExportCommand {
+
+    private static final int DEFAULT_BAND_HEIGHT = 256;
+
+    private ExportCommand() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: ExportCommand <scene> <width> <height> <output.png|output.rgba>"
+                    + " [band height] [scale] [origin x] [origin y]");
+            System.exit(2);
+        }
+
+        MappedScene scene = SceneFile.map(Path.of(args[0]));
+        int bandHeight = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_BAND_HEIGHT;
+        Viewport viewport = new Viewport();
+        viewport.set(args.length > 6 ? Double.parseDouble(args[6]) : 0, args.length > 7 ? Double.parseDouble(args[7]) : 0,
+                args.length > 5 ? Double.parseDouble(args[5]) : 1);
+        BandExporter exporter = new BandExporter(Integer.parseInt(args[1]), Integer.parseInt(args[2]), bandHeight, viewport);
+        Path output = Path.of(args[3]);
+        if (output.toString().endsWith(".png")) {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+                exporter.exportPng(scene, out);
+            }
+        } else {
+            try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                exporter.exportRaw(scene, channel);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * Decides which points of a self-intersecting polygon are inside.
+ */
+public enum FillRule {
+    /**
+     * Inside where a ray from the point crosses the outline an odd number of times.
+     */
+    EVEN_ODD,
+    /**
+     * Inside where the outline winds around the point a non-zero number of times.
+     */
+    NON_ZERO
+}
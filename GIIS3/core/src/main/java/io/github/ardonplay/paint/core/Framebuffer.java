@@ -0,0 +1,212 @@
+package io.github.ardonplay.paint.core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * In-memory premultiplied ARGB raster, optionally allocated off-heap. Spans of a heap raster run
+ * through the {@link SpanKernel}, vectorized where the platform allows; direct rasters, meant for
+ * handing the pixels to native code, are written pixel by pixel.
+ */
+public class Framebuffer implements RasterTarget {
+
+    private final boolean direct;
+
+    private int width;
+    private int height;
+    private IntBuffer pixels;
+
+    public Framebuffer(int width, int height) {
+        this(width, height, false);
+    }
+
+    public Framebuffer(int width, int height, boolean direct) {
+        this.direct = direct;
+        this.width = width;
+        this.height = height;
+        this.pixels = allocate(width, height, direct);
+    }
+
+    private static IntBuffer allocate(int width, int height, boolean direct) {
+        int size = Math.max(width, 0) * Math.max(height, 0);
+        if (direct) {
+            return ByteBuffer.allocateDirect(size * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+        return IntBuffer.allocate(size);
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    @Override
+    public void setPixel(int x, int y, int argb) {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+            return;
+        pixels.put(y * width + x, argb);
+    }
+
+    @Override
+    public void blendPixel(int x, int y, int argb, int alpha) {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+            return;
+        int index = y * width + x;
+        pixels.put(index, AlphaBlend.over(pixels.get(index), AlphaBlend.scale(argb, alpha)));
+    }
+
+    public int getPixel(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+            return 0;
+        return pixels.get(y * width + x);
+    }
+
+    /**
+     * Line kernel of {@link Rasterizer#bresenhamLine}: writes {@code count} pixels from {@code index},
+     * moving {@code majorStride} per pixel and {@code minorStride} more whenever the error term
+     * {@code remainder + twoMinor} reaches {@code twoMajor}. The caller has clipped the run to the raster.
+     */
+    void line(int index, int majorStride, int minorStride, int count,
+              long remainder, long twoMinor, long twoMajor, int argb) {
+        IntBuffer pixels = this.pixels;
+        long error = remainder - twoMajor;
+        for (int i = 0; i < count; i++) {
+            pixels.put(index, argb);
+            error += twoMinor;
+            // all ones once the error has carried, so the minor step and the correction need no branch
+            long carry = ~(error >> 63);
+            error -= twoMajor & carry;
+            index += majorStride + (minorStride & (int) carry);
+        }
+    }
+
+    /**
+     * Fixed-point DDA kernel of {@link Rasterizer#basicLine}: writes {@code count} pixels at
+     * {@code (x >> shift, y >> shift)}, advancing by the steps after each one. The caller has clipped the walk.
+     */
+    void dda(long x, long y, long stepX, long stepY, int shift, int count, int argb) {
+        IntBuffer pixels = this.pixels;
+        int width = this.width;
+        for (int i = 0; i < count; i++) {
+            pixels.put((int) (y >> shift) * width + (int) (x >> shift), argb);
+            x += stepX;
+            y += stepY;
+        }
+    }
+
+    /**
+     * Writes {@code count} pixels from {@code index}, {@code stride} apart; the caller has clipped the run.
+     */
+    void fill(int index, int stride, int count, int argb) {
+        if (stride == -1) {
+            index -= count - 1;
+            stride = 1;
+        }
+        if (stride == 1 && pixels.hasArray()) {
+            int offset = pixels.arrayOffset() + index;
+            SpanKernel.INSTANCE.fill(pixels.array(), offset, offset + count, argb);
+            return;
+        }
+        for (int i = 0; i < count; i++, index += stride) {
+            pixels.put(index, argb);
+        }
+    }
+
+    public void clear() {
+        clear(0, 0, width, height);
+    }
+
+    /**
+     * Clears {@code [minX, maxX) x [minY, maxY)}, clipped to the raster.
+     */
+    public void clear(int minX, int minY, int maxX, int maxY) {
+        minX = Math.max(minX, 0);
+        minY = Math.max(minY, 0);
+        maxX = Math.min(maxX, width);
+        maxY = Math.min(maxY, height);
+        if (minX >= maxX)
+            return;
+        if (minX == 0 && maxX == width) {
+            fill(minY * width, 1, (maxY - minY) * width, 0);
+            return;
+        }
+        for (int y = minY; y < maxY; y++) {
+            fill(y * width + minX, 1, maxX - minX, 0);
+        }
+    }
+
+    /**
+     * Sets {@code length} pixels of row {@code y} from {@code x} to {@code argb}, clipped to the raster.
+     */
+    public void fillSpan(int x, int y, int length, int argb) {
+        if (y < 0 || y >= height)
+            return;
+        int from = Math.max(x, 0);
+        int to = (int) Math.min((long) x + length, width);
+        if (from < to)
+            fill(y * width + from, 1, to - from, argb);
+    }
+
+    /**
+     * Composites {@code argb} source-over {@code length} pixels of row {@code y} from {@code x}, each
+     * scaled by its coverage (0..255) in {@code coverage} from {@code coverageOffset}; a {@code null}
+     * coverage means full coverage. Clipped to the raster.
+     */
+    public void blendSpan(int x, int y, int length, int argb, int[] coverage, int coverageOffset) {
+        if (y < 0 || y >= height)
+            return;
+        int from = Math.max(x, 0);
+        int to = (int) Math.min((long) x + length, width);
+        if (from >= to)
+            return;
+        int skipped = from - x;
+        if (pixels.hasArray()) {
+            SpanKernel.INSTANCE.blend(pixels.array(), pixels.arrayOffset() + y * width + from, to - from, argb,
+                    coverage, coverageOffset + skipped);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            int src = coverage == null ? argb : AlphaBlend.scale(argb, coverage[coverageOffset + i - x]);
+            int index = y * width + i;
+            pixels.put(index, AlphaBlend.over(pixels.get(index), src));
+        }
+    }
+
+    /**
+     * Reallocates the raster, keeping the pixels of the overlapping region.
+     */
+    public void resize(int newWidth, int newHeight) {
+        if (newWidth == width && newHeight == height)
+            return;
+
+        IntBuffer resized = allocate(newWidth, newHeight, direct);
+        int rowLength = Math.min(width, newWidth);
+        int rows = Math.min(height, newHeight);
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < rowLength; x++) {
+                resized.put(y * newWidth + x, pixels.get(y * width + x));
+            }
+        }
+
+        this.width = newWidth;
+        this.height = newHeight;
+        this.pixels = resized;
+    }
+
+    /**
+     * Read-only view over the whole raster, rows laid out with a stride of {@link #getWidth()}.
+     */
+    public IntBuffer getPixels() {
+        return pixels.asReadOnlyBuffer().rewind();
+    }
+}
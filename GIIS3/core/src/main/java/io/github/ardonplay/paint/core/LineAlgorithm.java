@@ -0,0 +1,8 @@
+package io.github.ardonplay.paint.core;
+
+public enum LineAlgorithm {
+    DDA,
+    BRESENHAM,
+    WU,
+    RUN_SLICE
+}
@@ -0,0 +1,156 @@
+package io.github.ardonplay.paint.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read-only view of a {@link SceneFile}. Records are read straight from the buffer, so a scene can
+ * be indexed and rendered without creating a {@link Primitive} per record. The header and the mode
+ * table are validated when the file is mapped, which costs nothing per record; a record's mode index
+ * and extra coordinates are checked as they are read, and a corrupt one throws
+ * {@link UncheckedIOException}.
+ */
+public class MappedScene {
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final String[] modes;
+    /**
+     * The algorithm of each mode, resolved once when the file is mapped; {@code null} for unknown modes.
+     */
+    private final RasterAlgorithm[] algorithms;
+    private final int recordsOffset;
+    private final int extraOffset;
+    private final int extraPoints;
+
+    MappedScene(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != SceneFile.MAGIC)
+            throw new IOException("Not a scene file");
+        int version = buffer.getShort(4);
+        if (version != SceneFile.VERSION && version != 1)
+            throw new IOException("Unsupported scene version " + version);
+        if (buffer.getShort(6) != SceneFile.RECORD_SIZE)
+            throw new IOException("Unexpected record size " + buffer.getShort(6));
+
+        count = buffer.getInt(8);
+        int modeCount = buffer.getInt(12);
+        recordsOffset = buffer.getInt(16);
+        extraOffset = buffer.getInt(20);
+        extraPoints = buffer.getInt(24);
+        if (count < 0 || modeCount < 0 || extraPoints < 0)
+            throw new IOException("Negative count in scene header");
+        if (recordsOffset < SceneFile.HEADER_SIZE || recordsOffset + (long) count * SceneFile.RECORD_SIZE > buffer.capacity()
+                || extraOffset < SceneFile.HEADER_SIZE || extraOffset + extraPoints * 8L > buffer.capacity())
+            throw new IOException("Truncated scene file");
+
+        // every name has a length prefix of 2 bytes, so a larger count cannot fit before the records
+        if (modeCount > (recordsOffset - SceneFile.HEADER_SIZE) / 2)
+            throw new IOException("Mode table of " + modeCount + " entries overruns the records");
+        modes = new String[modeCount];
+        algorithms = new RasterAlgorithm[modeCount];
+        int offset = SceneFile.HEADER_SIZE;
+        for (int i = 0; i < modes.length; i++) {
+            int length = Short.toUnsignedInt(buffer.getShort(offset));
+            if (offset + 2 + length > recordsOffset)
+                throw new IOException("Mode " + i + " overruns the records");
+            byte[] name = new byte[length];
+            buffer.get(offset + 2, name);
+            modes[i] = new String(name, StandardCharsets.UTF_8);
+            algorithms[i] = RasterAlgorithms.get(modes[i]);
+            offset += 2 + length;
+            // version 1 placed the curves' control points at fixed offsets, which no mode draws any more
+            if (version == 1 && (algorithms[i] == StandardAlgorithm.HERMITE || algorithms[i] == StandardAlgorithm.BEZIER
+                    || algorithms[i] == StandardAlgorithm.B_SPLINE))
+                throw new IOException("Version 1 scene holds " + modes[i] + " curves drawn with the old control points");
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public String getMode(int index) {
+        return modes[modeIndex(index)];
+    }
+
+    public int getPointCount(int index) {
+        return Short.toUnsignedInt(buffer.getShort(record(index) + 2));
+    }
+
+    public int getArgb(int index) {
+        return buffer.getInt(record(index) + 4);
+    }
+
+    /**
+     * Coordinate {@code i} of the flattened point list {@code x0, y0, x1, y1, ...} of a primitive.
+     */
+    public int getCoordinate(int index, int i) {
+        int record = record(index);
+        if (i < 4)
+            return buffer.getInt(record + 8 + i * 4);
+        int further = Math.max(0, Short.toUnsignedInt(buffer.getShort(record + 2)) * 2 - 4);
+        if (i - 4 >= further)
+            throw new IndexOutOfBoundsException(i);
+        int first = buffer.getInt(record + 24);
+        if (first < 0 || first + (long) further > extraPoints * 2L)
+            throw corrupt("Record " + index + " has extra coordinates [" + first + ", "
+                    + (first + (long) further) + ") outside the " + extraPoints * 2L + " stored");
+        return buffer.getInt(extraOffset + (first + i - 4) * 4);
+    }
+
+    public Primitive get(int index) {
+        int[] points = new int[Math.max(4, getPointCount(index) * 2)];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = getCoordinate(index, i);
+        }
+        int mode = modeIndex(index);
+        return new Primitive(modes[mode], points, getArgb(index), algorithms[mode]);
+    }
+
+    /**
+     * @see Rasterizer#bounds
+     */
+    public boolean bounds(int index, int[] out) {
+        int record = record(index);
+        RasterAlgorithm algorithm = algorithms[modeIndex(index)];
+        return algorithm != null && algorithm.bounds(buffer.getInt(record + 8), buffer.getInt(record + 12),
+                buffer.getInt(record + 16), buffer.getInt(record + 20), out);
+    }
+
+    /**
+     * Draws one record as {@link Primitive#draw} would.
+     */
+    public void draw(int index, Rasterizer rasterizer) {
+        int record = record(index);
+        rasterizer.setAlgorithm(algorithms[modeIndex(index)]);
+        rasterizer.printLine(buffer.getInt(record + 8), buffer.getInt(record + 12),
+                buffer.getInt(record + 16), buffer.getInt(record + 20), buffer.getInt(record + 4));
+    }
+
+    /**
+     * Draws every record in file order.
+     */
+    public void render(Rasterizer rasterizer) {
+        for (int index = 0; index < count; index++) {
+            draw(index, rasterizer);
+        }
+    }
+
+    private int modeIndex(int index) {
+        int mode = Short.toUnsignedInt(buffer.getShort(record(index)));
+        if (mode >= modes.length)
+            throw corrupt("Record " + index + " has mode index " + mode + " of " + modes.length);
+        return mode;
+    }
+
+    private static UncheckedIOException corrupt(String message) {
+        return new UncheckedIOException(new IOException(message));
+    }
+
+    private int record(int index) {
+        return recordsOffset + index * SceneFile.RECORD_SIZE;
+    }
+}
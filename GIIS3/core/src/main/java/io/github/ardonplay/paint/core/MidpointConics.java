@@ -0,0 +1,317 @@
+package io.github.ardonplay.paint.core;
+
+import java.math.BigInteger;
+
+/**
+ * Midpoint rasterizers for the axis-aligned conics. Ellipses and parabolas walk a single quadrant,
+ * stepping along x while the slope is below 1 and along y after it, and mirror the pixels into the
+ * other quadrants, so outlines are gap-free and cost is proportional to their length. The hyperbola
+ * runs to the window's edges whatever its size, so its walk starts at the window rather than at
+ * the vertices, from decisions seeded with exact integer square roots. Decision variables are kept
+ * in {@code long} and scaled to stay integral. Their terms grow with the fourth power of the size,
+ * so conics with an axis larger than {@link #MAX_MIDPOINT_SIZE} are drawn from the closed form
+ * instead, over the columns of the clip window only.
+ */
+class MidpointConics {
+
+    /**
+     * Largest axis the midpoint decisions are exact for: every term stays below
+     * {@code 8 * (2^14)^4 = 2^59}, well inside a {@code long}.
+     */
+    static final int MAX_MIDPOINT_SIZE = 1 << 14;
+
+    /**
+     * Farthest window edge the hyperbola walk is exact for: its steps stay below
+     * {@code 8 * (2^14)^2 * 2^30 = 2^61}.
+     */
+    private static final long MAX_HYPERBOLA_REACH = 1L << 30;
+
+    private final RasterTarget target;
+
+    MidpointConics(RasterTarget target) {
+        this.target = target;
+    }
+
+    /**
+     * Ellipse {@code x^2 / a^2 + y^2 / b^2 = 1} around {@code (centerX, centerY)}.
+     */
+    void ellipse(int centerX, int centerY, int a, int b, int argb) {
+        if (a == 0 || b == 0) {
+            span(centerX - a, centerY - b, centerX + a, centerY + b, argb);
+            return;
+        }
+        if (a > MAX_MIDPOINT_SIZE || b > MAX_MIDPOINT_SIZE) {
+            largeEllipse(centerX, centerY, a, b, argb);
+            return;
+        }
+
+        long a2 = (long) a * a;
+        long b2 = (long) b * b;
+        int x = 0;
+        int y = b;
+
+        // midpoint (x + 1, y - 1/2): 4 * (b^2 (x + 1)^2 + a^2 (y - 1/2)^2 - a^2 b^2)
+        long decision = 4 * b2 - 4 * a2 * b + a2;
+        while (b2 * (x + 1) < a2 * y) {
+            plot4(centerX, centerY, x, y, argb);
+            if (decision >= 0) {
+                decision -= 8 * a2 * (y - 1);
+                y--;
+            }
+            decision += 4 * b2 * (2 * x + 3);
+            x++;
+        }
+
+        // midpoint (x + 1/2, y - 1): b^2 (2x + 1)^2 + 4 a^2 (y - 1)^2 - 4 a^2 b^2
+        decision = b2 * (2L * x + 1) * (2L * x + 1) + 4 * a2 * ((long) (y - 1) * (y - 1) - b2);
+        while (y >= 0) {
+            plot4(centerX, centerY, x, y, argb);
+            if (decision <= 0) {
+                decision += 8 * b2 * (x + 1);
+                x++;
+            }
+            decision += 4 * a2 * (3 - 2L * y);
+            y--;
+        }
+        // flat ellipses leave the last row before reaching the tips
+        for (; x <= a; x++) {
+            plot4(centerX, centerY, x, 0, argb);
+        }
+    }
+
+    /**
+     * Parabola arc with its vertex at {@code (vertexX, vertexY)} through
+     * {@code (vertexX +- halfWidth, vertexY + height)}: {@code y = height * (x / halfWidth)^2}.
+     */
+    void parabola(int vertexX, int vertexY, int halfWidth, int height, int argb) {
+        int h = Math.abs(height);
+        if (halfWidth == 0 || h == 0) {
+            span(vertexX - halfWidth, Math.min(vertexY, vertexY + height),
+                    vertexX + halfWidth, Math.max(vertexY, vertexY + height), argb);
+            return;
+        }
+
+        int sign = height < 0 ? -1 : 1;
+        if (halfWidth > MAX_MIDPOINT_SIZE || h > MAX_MIDPOINT_SIZE) {
+            largeParabola(vertexX, vertexY, halfWidth, h, sign, argb);
+            return;
+        }
+        // w^2 * v = h * u^2 in the quadrant u, v >= 0
+        long w2 = (long) halfWidth * halfWidth;
+        int u = 0;
+        int v = 0;
+
+        // midpoint (u + 1, v + 1/2): 2 w^2 v + w^2 - 2 h (u + 1)^2
+        long decision = w2 - 2L * h;
+        while (u < halfWidth && 2L * h * (u + 1) < w2) {
+            plot2(vertexX, vertexY, u, sign * v, argb);
+            if (decision < 0) {
+                decision += 2 * w2;
+                v++;
+            }
+            decision -= 2L * h * (2L * u + 3);
+            u++;
+        }
+
+        // midpoint (u + 1/2, v + 1): 4 w^2 (v + 1) - h (2u + 1)^2
+        decision = 4 * w2 * (v + 1) - h * (2L * u + 1) * (2L * u + 1);
+        while (v < h) {
+            plot2(vertexX, vertexY, u, sign * v, argb);
+            if (decision > 0 && u < halfWidth) {
+                decision -= 8L * h * (u + 1);
+                u++;
+            }
+            decision += 4 * w2;
+            v++;
+        }
+        plot2(vertexX, vertexY, halfWidth, height, argb);
+    }
+
+    /**
+     * Both branches of {@code y^2 / b^2 - x^2 / a^2 = 1} around {@code (centerX, centerY)}, opening
+     * up and down, drawn until they leave the target's clip window. Column {@code u} holds its
+     * nearest row and every row whose nearest column it is, up to the half columns
+     * {@code b sqrt((2u +- 1)^2 + 4 a^2) / 2a}. The branches have no end of their own, so the walk
+     * starts at the first column that can reach the window, seeded from exact square roots; every
+     * decision is exact, so windows and tiles of the same target agree.
+     */
+    void hyperbola(int centerX, int centerY, int a, int b, int argb) {
+        long xLimit = farthest(centerX, target.getMinX(), target.getMaxX());
+        long yLimit = farthest(centerY, target.getMinY(), target.getMaxY());
+        if (xLimit < 0 || yLimit < b)
+            return;
+        if (a == 0) {
+            // the branches collapse onto the axis beyond the vertices
+            span(centerX, centerY - (int) yLimit, centerX, centerY - b, argb);
+            span(centerX, centerY + b, centerX, centerY + (int) yLimit, argb);
+            return;
+        }
+        if (b == 0) {
+            // and onto the asymptote y = 0 when there is no gap between them
+            span(centerX - (int) xLimit, centerY, centerX + (int) xLimit, centerY, argb);
+            return;
+        }
+        long vFrom = nearest(centerY, target.getMinY(), target.getMaxY());
+        if (a > MAX_MIDPOINT_SIZE || b > MAX_MIDPOINT_SIZE || xLimit > MAX_HYPERBOLA_REACH || yLimit > MAX_HYPERBOLA_REACH) {
+            largeHyperbola(centerX, centerY, a, b, xLimit, vFrom, yLimit, argb);
+            return;
+        }
+
+        long a2 = (long) a * a;
+        long b2 = (long) b * b;
+        // columns before the branch climbs to row vFrom - 1, at u = a sqrt((vFrom - 1)^2 - b^2) / b, stay below the window
+        long u = nearest(centerX, target.getMinX(), target.getMaxX());
+        if (vFrom > b + 1) {
+            BigInteger climb = BigInteger.valueOf(vFrom - 1).pow(2).subtract(BigInteger.valueOf(b2)).multiply(BigInteger.valueOf(a2));
+            u = Math.max(u, climb.sqrt().longValue() / b - 1);
+        }
+
+        // the seeds overflow, but the decisions they leave fit in a long, so the wrapped difference is exact
+        long from = firstRow(u - 1, a, b);
+        long next = firstRow(u, a, b);
+        long edge = 4 * a2 * next * next - b2 * ((2 * u + 1) * (2 * u + 1) + 4 * a2);
+        // nearest row of column u: the largest v with a^2 (2v - 1)^2 <= 4 b^2 (u^2 + a^2)
+        long rowRoot = BigInteger.valueOf(u).pow(2).add(BigInteger.valueOf(a2)).multiply(BigInteger.valueOf(4 * b2)).sqrt().longValue();
+        long row = (rowRoot / a + 1) / 2;
+        long decision = 4 * b2 * (u * u + a2) - a2 * (2 * row + 1) * (2 * row + 1);
+        for (; u <= xLimit; u++) {
+            long first = Math.min(row, from);
+            if (first > yLimit)
+                break;
+            column4(centerX, centerY, (int) u, Math.max(first, vFrom), Math.min(Math.max(row, next - 1), yLimit), argb);
+
+            from = next;
+            edge -= 8 * b2 * (u + 1);
+            while (edge < 0) {
+                edge += 4 * a2 * (2 * next + 1);
+                next++;
+            }
+            decision += 4 * b2 * (2 * u + 1);
+            while (decision >= 0) {
+                decision -= 8 * a2 * (row + 1);
+                row++;
+            }
+        }
+    }
+
+    /**
+     * The least {@code v} with {@code 4 a^2 v^2 >= b^2 ((2u + 1)^2 + 4 a^2)}: the first row of column
+     * {@code u + 1} of the hyperbola.
+     */
+    private static long firstRow(long u, int a, int b) {
+        BigInteger edge = BigInteger.valueOf(2 * u + 1).pow(2).add(BigInteger.valueOf(4L * a * a))
+                .multiply(BigInteger.valueOf((long) b * b));
+        BigInteger root = edge.sqrt();
+        long ceiling = root.longValue() + (root.pow(2).equals(edge) ? 0 : 1);
+        return (ceiling + 2L * a - 1) / (2L * a);
+    }
+
+    /**
+     * The hyperbola from the closed form, with the columns of {@link #hyperbola}, for axes or windows
+     * beyond the reach of its walk.
+     */
+    private void largeHyperbola(int centerX, int centerY, int a, int b, long xLimit, long vFrom, long yLimit, int argb) {
+        // v = b sqrt(u^2 + a^2) / a, and at half columns b sqrt((2u +- 1)^2 + 4 a^2) / 2a
+        double ratio = (double) b / a;
+        long a4 = 4L * a * a;
+        for (long u = nearest(centerX, target.getMinX(), target.getMaxX()); u <= xLimit; u++) {
+            long row = Math.round(ratio * Math.sqrt((double) (u * u + (long) a * a)));
+            long from = Math.min(row, (long) Math.ceil(ratio * Math.sqrt((double) ((2 * u - 1) * (2 * u - 1) + a4)) / 2));
+            if (from > yLimit)
+                break;
+            long to = Math.max(row, (long) Math.ceil(ratio * Math.sqrt((double) ((2 * u + 1) * (2 * u + 1) + a4)) / 2) - 1);
+            column4(centerX, centerY, (int) u, Math.max(from, vFrom), Math.min(to, yLimit), argb);
+        }
+    }
+
+    /**
+     * The ellipse quadrant {@code v = b sqrt(a^2 - u^2) / a} from the closed form, column by column
+     * across the clip window. A column holds its nearest row and every row whose nearest column it
+     * is, as the midpoint walk would, so the outline is thin where flat and connected where steep.
+     */
+    private void largeEllipse(int centerX, int centerY, int a, int b, int argb) {
+        long uTo = Math.min(a, farthest(centerX, target.getMinX(), target.getMaxX()));
+        long vFrom = nearest(centerY, target.getMinY(), target.getMaxY());
+        long vTo = farthest(centerY, target.getMinY(), target.getMaxY());
+        // at half columns the height is b sqrt((2a - 2u -+ 1) (2a + 2u +- 1)) / 2a, exact up to the root
+        double ratio = (double) b / a;
+        for (long u = nearest(centerX, target.getMinX(), target.getMaxX()); u <= uTo; u++) {
+            long row = Math.round(ratio * Math.sqrt((double) ((a - u) * (a + u))));
+            long to = u == 0 ? row
+                    : Math.max(row, (long) Math.floor(ratio * Math.sqrt((double) ((2 * a - 2 * u + 1) * (2 * a + 2 * u - 1))) / 2));
+            if (to < vFrom)
+                break;
+            long from = u == a ? 0
+                    : Math.min(row, (long) Math.floor(ratio * Math.sqrt((double) ((2 * a - 2 * u - 1) * (2 * a + 2 * u + 1))) / 2) + 1);
+            column4(centerX, centerY, (int) u, Math.max(from, vFrom), Math.min(to, vTo), argb);
+        }
+    }
+
+    /**
+     * The parabola half {@code v = h u^2 / w^2} for {@code 0 <= u <= w} from the closed form, column
+     * by column across the clip window, with the rows of {@link #largeEllipse}.
+     */
+    private void largeParabola(int vertexX, int vertexY, int halfWidth, int h, int sign, int argb) {
+        long uTo = Math.min(halfWidth, farthest(vertexX, target.getMinX(), target.getMaxX()));
+        // rows the arc may show in, counted from the vertex in the direction it opens
+        long vFrom = Math.max(0, sign > 0 ? (long) target.getMinY() - vertexY : (long) vertexY - (target.getMaxY() - 1));
+        long vTo = Math.min(h, sign > 0 ? (long) target.getMaxY() - 1 - vertexY : (long) vertexY - target.getMinY());
+        // v at half columns is h (2u +- 1)^2 / 4 w^2
+        double scale = (double) h / ((double) halfWidth * halfWidth);
+        for (long u = nearest(vertexX, target.getMinX(), target.getMaxX()); u <= uTo; u++) {
+            long row = Math.round(scale * u * u);
+            long from = Math.min(row, (long) Math.ceil(scale * ((2 * u - 1) * (2 * u - 1)) / 4));
+            if (from > vTo)
+                break;
+            long to = u == halfWidth ? h : Math.max(row, (long) Math.ceil(scale * ((2 * u + 1) * (2 * u + 1)) / 4) - 1);
+            for (long v = Math.max(from, vFrom), last = Math.min(to, vTo); v <= last; v++) {
+                plot2(vertexX, vertexY, (int) u, (int) (sign * v), argb);
+            }
+        }
+    }
+
+    private void column4(int centerX, int centerY, int x, long fromY, long toY, int argb) {
+        for (long y = fromY; y <= toY; y++) {
+            plot4(centerX, centerY, x, (int) y, argb);
+        }
+    }
+
+    /**
+     * Smallest distance from {@code center} to a pixel of {@code [min, max)}, 0 if it lies inside.
+     */
+    private static long nearest(int center, int min, int max) {
+        return Math.max(0, Math.max((long) min - center, (long) center - (max - 1)));
+    }
+
+    /**
+     * Largest distance from {@code center} to a pixel of {@code [min, max)}.
+     */
+    private static long farthest(int center, int min, int max) {
+        return Math.max((long) center - min, (long) max - 1 - center);
+    }
+
+    private void plot4(int centerX, int centerY, int x, int y, int argb) {
+        target.setPixel(centerX + x, centerY + y, argb);
+        target.setPixel(centerX - x, centerY + y, argb);
+        target.setPixel(centerX + x, centerY - y, argb);
+        target.setPixel(centerX - x, centerY - y, argb);
+    }
+
+    private void plot2(int centerX, int centerY, int x, int y, int argb) {
+        target.setPixel(centerX + x, centerY + y, argb);
+        target.setPixel(centerX - x, centerY + y, argb);
+    }
+
+    /**
+     * Degenerate conics: the horizontal or vertical segment between the two corners, within the clip window.
+     */
+    private void span(int x1, int y1, int x2, int y2, int argb) {
+        int minX = Math.max(x1, target.getMinX());
+        int maxX = Math.min(x2, target.getMaxX() - 1);
+        for (int y = Math.max(y1, target.getMinY()), maxY = Math.min(y2, target.getMaxY() - 1); y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                target.setPixel(x, y, argb);
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.ardonplay.paint.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Renders a list of primitives by splitting the framebuffer into square tiles and rasterizing the
+ * tiles concurrently. Every tile replays, in list order, the primitives whose bounds touch it and
+ * keeps only its own pixels, so tiles never write the same pixel and the result matches drawing
+ * the list sequentially. {@link SceneModel} uses {@link #paintTiles} the same way to validate.
+ */
+public class ParallelRenderer {
+
+    public static final int TILE_SIZE = 256;
+
+    /**
+     * Redraws one rectangle on its own; called concurrently for disjoint tiles.
+     */
+    public interface TilePainter {
+        void paint(int minX, int minY, int maxX, int maxY);
+    }
+
+    private final ForkJoinPool pool;
+
+    public ParallelRenderer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelRenderer(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public void render(List<Primitive> primitives, Framebuffer framebuffer) {
+        int width = framebuffer.getWidth();
+        int height = framebuffer.getHeight();
+        if (width <= 0 || height <= 0 || primitives.isEmpty())
+            return;
+
+        int columns = (width + TILE_SIZE - 1) / TILE_SIZE;
+        int rows = (height + TILE_SIZE - 1) / TILE_SIZE;
+        int[][] bins = new int[columns * rows][];
+        int[] sizes = new int[columns * rows];
+
+        int[] bounds = new int[4];
+        for (int i = 0; i < primitives.size(); i++) {
+            int firstColumn = 0, firstRow = 0, lastColumn = columns - 1, lastRow = rows - 1;
+            if (primitives.get(i).bounds(bounds)) {
+                if (bounds[2] < 0 || bounds[3] < 0 || bounds[0] >= width || bounds[1] >= height)
+                    continue;
+                firstColumn = Math.max(bounds[0], 0) / TILE_SIZE;
+                firstRow = Math.max(bounds[1], 0) / TILE_SIZE;
+                lastColumn = Math.min(bounds[2], width - 1) / TILE_SIZE;
+                lastRow = Math.min(bounds[3], height - 1) / TILE_SIZE;
+            }
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    int tile = row * columns + column;
+                    if (bins[tile] == null)
+                        bins[tile] = new int[16];
+                    else if (sizes[tile] == bins[tile].length)
+                        bins[tile] = Arrays.copyOf(bins[tile], sizes[tile] * 2);
+                    bins[tile][sizes[tile]++] = i;
+                }
+            }
+        }
+
+        List<TileTask> tasks = new ArrayList<>();
+        for (int tile = 0; tile < bins.length; tile++) {
+            if (sizes[tile] == 0)
+                continue;
+            int minX = tile % columns * TILE_SIZE;
+            int minY = tile / columns * TILE_SIZE;
+            TileTarget target = new TileTarget(framebuffer, minX, minY,
+                    Math.min(minX + TILE_SIZE, width), Math.min(minY + TILE_SIZE, height));
+            tasks.add(new TileTask(primitives, bins[tile], sizes[tile], target));
+        }
+
+        invokeAll(tasks);
+    }
+
+    /**
+     * Cuts {@code [minX, maxX) x [minY, maxY)} along the {@link #TILE_SIZE} grid and paints the
+     * pieces concurrently, returning once all of them are done.
+     */
+    public void paintTiles(int minX, int minY, int maxX, int maxY, TilePainter painter) {
+        if (minX >= maxX || minY >= maxY)
+            return;
+        if (maxX - minX <= TILE_SIZE && maxY - minY <= TILE_SIZE && minX / TILE_SIZE == (maxX - 1) / TILE_SIZE
+                && minY / TILE_SIZE == (maxY - 1) / TILE_SIZE) {
+            painter.paint(minX, minY, maxX, maxY);
+            return;
+        }
+
+        List<PaintTask> tasks = new ArrayList<>();
+        for (int y = minY; y < maxY; y = (y / TILE_SIZE + 1) * TILE_SIZE) {
+            int tileMaxY = Math.min((y / TILE_SIZE + 1) * TILE_SIZE, maxY);
+            for (int x = minX; x < maxX; x = (x / TILE_SIZE + 1) * TILE_SIZE) {
+                tasks.add(new PaintTask(painter, x, y, Math.min((x / TILE_SIZE + 1) * TILE_SIZE, maxX), tileMaxY));
+            }
+        }
+        invokeAll(tasks);
+    }
+
+    private void invokeAll(List<? extends ForkJoinTask<?>> tasks) {
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    private static class PaintTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient TilePainter painter;
+        private final int minX;
+        private final int minY;
+        private final int maxX;
+        private final int maxY;
+
+        PaintTask(TilePainter painter, int minX, int minY, int maxX, int maxY) {
+            this.painter = painter;
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        @Override
+        protected void compute() {
+            painter.paint(minX, minY, maxX, maxY);
+        }
+    }
+
+    private static class TileTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Primitive> primitives;
+        private final int[] indices;
+        private final int count;
+        private final transient TileTarget target;
+
+        TileTask(List<Primitive> primitives, int[] indices, int count, TileTarget target) {
+            this.primitives = primitives;
+            this.indices = indices;
+            this.count = count;
+            this.target = target;
+        }
+
+        @Override
+        protected void compute() {
+            Rasterizer rasterizer = new Rasterizer(target);
+            for (int i = 0; i < count; i++) {
+                primitives.get(indices[i]).draw(rasterizer);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.ardonplay.paint.core;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Streaming PNG encoder for 8-bit RGBA images. Rows are compressed as they arrive and written out
+ * in IDAT chunks, so memory use does not depend on the image height.
+ */
+public class PngEncoder {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final DataOutputStream out;
+    private final int width;
+    private final int height;
+    private final Deflater deflater;
+    private final byte[] row;
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private final CRC32 crc = new CRC32();
+    private int rowsWritten;
+
+    public PngEncoder(OutputStream out, int width, int height) throws IOException {
+        this(out, width, height, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    public PngEncoder(OutputStream out, int width, int height, int compressionLevel) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.width = width;
+        this.height = height;
+        this.deflater = new Deflater(compressionLevel);
+        this.row = new byte[1 + width * 4];
+
+        this.out.write(SIGNATURE);
+        byte[] header = new byte[13];
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = 8; // bit depth
+        header[9] = 6; // truecolor with alpha
+        writeChunk("IHDR", header, header.length);
+    }
+
+    /**
+     * Encodes {@code rows} rows of premultiplied ARGB pixels starting at the buffer's position,
+     * {@code stride} pixels apart.
+     */
+    public void writeRows(IntBuffer pixels, int rows, int stride) throws IOException {
+        if (rowsWritten + rows > height)
+            throw new IllegalStateException("Image has only " + height + " rows");
+        int start = pixels.position();
+        for (int y = 0; y < rows; y++) {
+            // filter type 0: the row is stored as it is
+            row[0] = 0;
+            AlphaBlend.toRgba(pixels, start + y * stride, width, row, 1);
+            deflater.setInput(row);
+            drain(false);
+        }
+        rowsWritten += rows;
+    }
+
+    /**
+     * Writes the remaining compressed data and the image trailer; the stream is left open.
+     */
+    public void finish() throws IOException {
+        if (rowsWritten != height)
+            throw new IllegalStateException("Only " + rowsWritten + " of " + height + " rows were written");
+        deflater.finish();
+        drain(true);
+        deflater.end();
+        writeChunk("IEND", chunk, 0);
+        out.flush();
+    }
+
+    private void drain(boolean finishing) throws IOException {
+        while (finishing ? !deflater.finished() : !deflater.needsInput()) {
+            int length = deflater.deflate(chunk);
+            if (length > 0)
+                writeChunk("IDAT", chunk, length);
+        }
+    }
+
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        crc.reset();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * Packs an integer point into a single {@code long}: x in the high word, y in the low word.
+ */
+public final class Points {
+
+    private Points() {
+    }
+
+    public static long pack(int x, int y) {
+        return (long) x << 32 | (y & 0xFFFFFFFFL);
+    }
+
+    public static int x(long point) {
+        return (int) (point >> 32);
+    }
+
+    public static int y(long point) {
+        return (int) point;
+    }
+}
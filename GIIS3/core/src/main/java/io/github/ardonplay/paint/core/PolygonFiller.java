@@ -0,0 +1,257 @@
+package io.github.ardonplay.paint.core;
+
+import java.util.Arrays;
+
+/**
+ * Scanline polygon fill. The non-horizontal edges form an edge table sorted by their top row; each
+ * row moves the edges starting there into the active edge list, keeps the list ordered by crossing
+ * and emits the spans the fill rule puts inside. Vertices sit on pixel centres and an edge covers the
+ * rows {@code [top, bottom)}, and a span the pixels {@code [ceil(left), ceil(right))}, so polygons
+ * sharing an edge never write the same pixel twice. The arrays are reused between polygons.
+ */
+class PolygonFiller {
+
+    private final RasterTarget target;
+
+    private final SpanWriter spans;
+
+    private int edgeCount;
+
+    private int[] top = new int[16];
+
+    private int[] bottom = new int[16];
+
+    private int[] topX = new int[16];
+
+    private int[] deltaX = new int[16];
+
+    /**
+     * {@code 1} for edges running down, {@code -1} for edges running up.
+     */
+    private int[] winding = new int[16];
+
+    /**
+     * Top row and index of every edge packed into one long, sorted.
+     */
+    private long[] table = new long[16];
+
+    private int[] active = new int[16];
+
+    private int[] spare = new int[16];
+
+    /**
+     * Edges starting on the current row, packed with their crossing for sorting.
+     */
+    private long[] incoming = new long[16];
+
+    private int activeCount;
+
+    /**
+     * Crossing of an active edge with the current row: {@code x + remainder / (bottom - top)} exactly.
+     */
+    private int[] x = new int[16];
+
+    private long[] remainder = new long[16];
+
+    private int[] stepX = new int[16];
+
+    private long[] stepRemainder = new long[16];
+
+    /**
+     * {@code ceil} of the crossing, the first pixel right of the edge.
+     */
+    private int[] key = new int[16];
+
+    PolygonFiller(RasterTarget target, SpanWriter spans) {
+        this.target = target;
+        this.spans = spans;
+    }
+
+    /**
+     * @param points {@code count} vertices stored as {@code x0, y0, x1, y1, ...}; the last one is joined to the first
+     */
+    void fill(int[] points, int count, FillRule rule, int argb) {
+        buildEdgeTable(points, count);
+        if (edgeCount == 0)
+            return;
+
+        int minY = Math.max(top[(int) table[0]], target.getMinY());
+        int maxY = target.getMaxY();
+        activeCount = 0;
+        int next = 0;
+        for (int y = minY; y < maxY; y++) {
+            removeFinished(y);
+            if (activeCount == 0) {
+                // skip the rows between disjoint parts of the polygon
+                while (next < edgeCount && bottom[(int) table[next]] <= y)
+                    next++;
+                if (next == edgeCount)
+                    break;
+                y = Math.max(y, top[(int) table[next]]);
+                if (y >= maxY)
+                    break;
+            }
+            sortActive();
+            int incoming = 0;
+            while (next < edgeCount && top[(int) table[next]] <= y) {
+                int edge = (int) table[next++];
+                if (bottom[edge] > y)
+                    incoming = activate(edge, y, incoming);
+            }
+            if (incoming > 0)
+                merge(incoming);
+            if (rule == FillRule.EVEN_ODD)
+                evenOddSpans(y, argb);
+            else
+                nonZeroSpans(y, argb);
+            advance();
+        }
+    }
+
+    private void buildEdgeTable(int[] points, int count) {
+        ensureCapacity(count);
+        edgeCount = 0;
+        for (int i = 0; i < count; i++) {
+            int j = i + 1 == count ? 0 : i + 1;
+            int x0 = points[2 * i];
+            int y0 = points[2 * i + 1];
+            int x1 = points[2 * j];
+            int y1 = points[2 * j + 1];
+            if (y0 == y1)
+                continue;
+            int edge = edgeCount++;
+            if (y0 < y1) {
+                top[edge] = y0;
+                bottom[edge] = y1;
+                topX[edge] = x0;
+                deltaX[edge] = x1 - x0;
+                winding[edge] = 1;
+            } else {
+                top[edge] = y1;
+                bottom[edge] = y0;
+                topX[edge] = x1;
+                deltaX[edge] = x0 - x1;
+                winding[edge] = -1;
+            }
+            table[edge] = (long) top[edge] << 32 | edge;
+        }
+        Arrays.sort(table, 0, edgeCount);
+    }
+
+    /**
+     * Starts the edge at row {@code y} and queues it, keyed by its crossing, for {@link #merge}.
+     */
+    private int activate(int edge, int y, int incoming) {
+        long height = bottom[edge] - top[edge];
+        long offset = (long) (y - top[edge]) * deltaX[edge];
+        x[edge] = topX[edge] + (int) Math.floorDiv(offset, height);
+        remainder[edge] = Math.floorMod(offset, height);
+        stepX[edge] = (int) Math.floorDiv(deltaX[edge], height);
+        stepRemainder[edge] = Math.floorMod(deltaX[edge], height);
+        key[edge] = x[edge] + (remainder[edge] > 0 ? 1 : 0);
+        this.incoming[incoming] = (long) key[edge] << 32 | edge;
+        return incoming + 1;
+    }
+
+    /**
+     * Sorts the queued edges and merges them into the sorted active list in one pass, so a row that
+     * starts many edges costs {@code O(k log k + active)} rather than an insertion per edge.
+     */
+    private void merge(int count) {
+        Arrays.sort(incoming, 0, count);
+        int i = 0;
+        int j = 0;
+        int merged = 0;
+        while (i < activeCount || j < count) {
+            if (j == count || i < activeCount && key[active[i]] <= (int) (incoming[j] >> 32))
+                spare[merged++] = active[i++];
+            else
+                spare[merged++] = (int) incoming[j++];
+        }
+        int[] swap = active;
+        active = spare;
+        spare = swap;
+        activeCount = merged;
+    }
+
+    private void removeFinished(int y) {
+        int kept = 0;
+        for (int i = 0; i < activeCount; i++) {
+            int edge = active[i];
+            if (bottom[edge] > y)
+                active[kept++] = edge;
+        }
+        activeCount = kept;
+    }
+
+    /**
+     * Insertion sort by crossing: after {@link #advance} the order barely changes from one row to the next.
+     */
+    private void sortActive() {
+        for (int i = 1; i < activeCount; i++) {
+            int edge = active[i];
+            int edgeKey = key[edge];
+            int j = i - 1;
+            while (j >= 0 && key[active[j]] > edgeKey) {
+                active[j + 1] = active[j];
+                j--;
+            }
+            active[j + 1] = edge;
+        }
+    }
+
+    private void evenOddSpans(int y, int argb) {
+        for (int i = 0; i + 1 < activeCount; i += 2) {
+            spans.span(key[active[i]], key[active[i + 1]], y, argb);
+        }
+    }
+
+    private void nonZeroSpans(int y, int argb) {
+        int sum = 0;
+        int from = 0;
+        for (int i = 0; i < activeCount; i++) {
+            int edge = active[i];
+            if (sum == 0)
+                from = key[edge];
+            sum += winding[edge];
+            if (sum == 0)
+                spans.span(from, key[edge], y, argb);
+        }
+    }
+
+    /**
+     * Moves every active crossing down one row.
+     */
+    private void advance() {
+        for (int i = 0; i < activeCount; i++) {
+            int edge = active[i];
+            long height = bottom[edge] - top[edge];
+            x[edge] += stepX[edge];
+            remainder[edge] += stepRemainder[edge];
+            if (remainder[edge] >= height) {
+                x[edge]++;
+                remainder[edge] -= height;
+            }
+            key[edge] = x[edge] + (remainder[edge] > 0 ? 1 : 0);
+        }
+    }
+
+    private void ensureCapacity(int edges) {
+        if (top.length >= edges)
+            return;
+        top = new int[edges];
+        bottom = new int[edges];
+        topX = new int[edges];
+        deltaX = new int[edges];
+        winding = new int[edges];
+        table = new long[edges];
+        active = new int[edges];
+        spare = new int[edges];
+        incoming = new long[edges];
+        x = new int[edges];
+        remainder = new long[edges];
+        stepX = new int[edges];
+        stepRemainder = new long[edges];
+        key = new int[edges];
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * Min/max decimation of a polyline in screen pixels. Consecutive vertices in the same column only
+ * add vertical segments there, so each run of them is reduced to the segment entering the column
+ * and one span from its lowest to its highest vertex, and the next column is entered from the
+ * run's last vertex. A polyline denser than the screen costs at most two segments per column,
+ * while a sparse one passes through unchanged.
+ */
+class PolylineDecimator {
+
+    private final CurveFlattener.LineSink sink;
+
+    private int argb;
+
+    private boolean previous;
+    private boolean drawn;
+    private int previousX;
+    private int previousY;
+
+    private int column;
+    private int entryY;
+    private int minY;
+    private int maxY;
+    private int exitY;
+    private int count;
+
+    PolylineDecimator(CurveFlattener.LineSink sink) {
+        this.sink = sink;
+    }
+
+    void begin(int x, int y, int argb) {
+        this.argb = argb;
+        previous = false;
+        drawn = false;
+        startRun(x, y);
+    }
+
+    void add(int x, int y) {
+        if (x != column) {
+            flushRun();
+            startRun(x, y);
+            return;
+        }
+        minY = Math.min(minY, y);
+        maxY = Math.max(maxY, y);
+        exitY = y;
+        count++;
+    }
+
+    void finish() {
+        flushRun();
+        // a polyline that collapsed onto one pixel
+        if (!drawn)
+            sink.line(column, entryY, column, entryY, argb);
+    }
+
+    private void startRun(int x, int y) {
+        column = x;
+        entryY = y;
+        minY = y;
+        maxY = y;
+        exitY = y;
+        count = 1;
+    }
+
+    private void flushRun() {
+        if (previous) {
+            sink.line(previousX, previousY, column, entryY, argb);
+            drawn = true;
+        }
+        if (count > 1) {
+            sink.line(column, minY, column, maxY, argb);
+            drawn = true;
+        }
+        previous = true;
+        previousX = column;
+        previousY = exitY;
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * A primitive as it was requested through {@link Rasterizer#printLine}: the mode, the clicked
+ * points stored as {@code x0, y0, x1, y1, ...} and a premultiplied ARGB color. The mode's
+ * {@link RasterAlgorithm} is resolved once when the primitive is created, {@code null} if no
+ * algorithm is registered for it, so replaying it costs no registry lookup.
+ */
+public record Primitive(String mode, int[] points, int argb, RasterAlgorithm algorithm) {
+
+    public Primitive(String mode, int[] points, int argb) {
+        this(mode, points, argb, RasterAlgorithms.get(mode));
+    }
+
+    public static Primitive of(String mode, int x1, int y1, int x2, int y2, int argb) {
+        return new Primitive(mode, new int[]{x1, y1, x2, y2}, argb);
+    }
+
+    public void draw(Rasterizer rasterizer) {
+        rasterizer.setAlgorithm(algorithm);
+        rasterizer.printLine(points[0], points[1], points[2], points[3], argb);
+    }
+
+    /**
+     * @see Rasterizer#bounds
+     */
+    public boolean bounds(int[] out) {
+        return algorithm != null && algorithm.bounds(points[0], points[1], points[2], points[3], out);
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.ardonplay.paint.core;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Loose quadtree over bounding boxes. An entry lives in the smallest quadrant at least as large
+ * as its box that holds the box's centre, and every quadrant accepts boxes reaching up to half its
+ * size past its edges. Entries therefore sit at the depth matching their size instead of piling up
+ * on quadrant borders, and a query only enters the few quadrants per level whose stretched bounds
+ * overlap it. Entries are identified by small non-negative ids,
+ * such as indices into a list, and the tree keeps its nodes and entries in flat int arrays so
+ * that millions of entries cost no per-entry objects.
+ */
+public class QuadTree {
+
+    private static final int ROOT_SIZE = 1 << 30;
+    private static final int ROOT_MIN = -(ROOT_SIZE / 2);
+
+    private int[] children = new int[4 * 64];
+    private int[] heads = new int[64];
+    private int nodeCount;
+
+    private int[] boxes = new int[4 * 64];
+    private int[] nodes = new int[64];
+    private int[] next = new int[64];
+    private int[] previous = new int[64];
+    private int size;
+
+    public QuadTree() {
+        clear();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(children, 0, nodeCount * 4, 0);
+        Arrays.fill(nodes, -1);
+        nodeCount = 0;
+        size = 0;
+        newNode();
+    }
+
+    /**
+     * Adds or moves the entry {@code id} with the inclusive box {@code [minX, maxX] x [minY, maxY]}.
+     */
+    public void insert(int id, int minX, int minY, int maxX, int maxY) {
+        if (id < nodes.length && nodes[id] >= 0)
+            remove(id);
+        ensureEntry(id);
+
+        // a box whose extent fits the quadrant goes into the quadrant holding its centre; quadrants
+        // are loose, i.e. stretched by half their size on every side, so the box always fits
+        long extent = Math.max((long) maxX - minX, (long) maxY - minY) + 1;
+        int centerX = (int) (((long) minX + maxX) >> 1);
+        int centerY = (int) (((long) minY + maxY) >> 1);
+        int node = 0;
+        if (extent <= ROOT_SIZE && contains(ROOT_MIN, ROOT_MIN, ROOT_SIZE, centerX, centerY)) {
+            int x0 = ROOT_MIN;
+            int y0 = ROOT_MIN;
+            for (int half = ROOT_SIZE >> 1; half > 0 && extent <= half; half >>= 1) {
+                int quadrant = 0;
+                if (centerX >= x0 + half) {
+                    quadrant = 1;
+                    x0 += half;
+                }
+                if (centerY >= y0 + half) {
+                    quadrant += 2;
+                    y0 += half;
+                }
+                int child = children[node * 4 + quadrant];
+                if (child == 0) {
+                    child = newNode();
+                    children[node * 4 + quadrant] = child;
+                }
+                node = child;
+            }
+        }
+
+        boxes[id * 4] = minX;
+        boxes[id * 4 + 1] = minY;
+        boxes[id * 4 + 2] = maxX;
+        boxes[id * 4 + 3] = maxY;
+        nodes[id] = node;
+        previous[id] = -1;
+        next[id] = heads[node];
+        if (heads[node] >= 0)
+            previous[heads[node]] = id;
+        heads[node] = id;
+        size++;
+    }
+
+    public boolean remove(int id) {
+        if (id < 0 || id >= nodes.length || nodes[id] < 0)
+            return false;
+        if (previous[id] >= 0)
+            next[previous[id]] = next[id];
+        else
+            heads[nodes[id]] = next[id];
+        if (next[id] >= 0)
+            previous[next[id]] = previous[id];
+        nodes[id] = -1;
+        size--;
+        return true;
+    }
+
+    /**
+     * Reports every entry whose box contains {@code (x, y)}.
+     */
+    public void query(int x, int y, IntConsumer consumer) {
+        query(x, y, x, y, consumer);
+    }
+
+    /**
+     * Reports every entry whose box intersects the inclusive box {@code [minX, maxX] x [minY, maxY]}.
+     */
+    public void query(int minX, int minY, int maxX, int maxY, IntConsumer consumer) {
+        // entries that did not fit below the root are not bounded by it, so always check them
+        report(0, minX, minY, maxX, maxY, consumer);
+        int half = ROOT_SIZE >> 1;
+        for (int quadrant = 0; quadrant < 4; quadrant++) {
+            int child = children[quadrant];
+            if (child != 0)
+                query(child, (quadrant & 1) == 0 ? ROOT_MIN : ROOT_MIN + half,
+                        (quadrant & 2) == 0 ? ROOT_MIN : ROOT_MIN + half, half, minX, minY, maxX, maxY, consumer);
+        }
+    }
+
+    private void query(int node, int x0, int y0, int size, int minX, int minY, int maxX, int maxY,
+                       IntConsumer consumer) {
+        long slack = size >> 1;
+        if (x0 - slack > maxX || y0 - slack > maxY || x0 + size + slack <= minX || y0 + size + slack <= minY)
+            return;
+        report(node, minX, minY, maxX, maxY, consumer);
+        int half = size >> 1;
+        if (half == 0)
+            return;
+        for (int quadrant = 0; quadrant < 4; quadrant++) {
+            int child = children[node * 4 + quadrant];
+            if (child != 0)
+                query(child, (quadrant & 1) == 0 ? x0 : x0 + half, (quadrant & 2) == 0 ? y0 : y0 + half, half,
+                        minX, minY, maxX, maxY, consumer);
+        }
+    }
+
+    private void report(int node, int minX, int minY, int maxX, int maxY, IntConsumer consumer) {
+        for (int id = heads[node]; id >= 0; id = next[id]) {
+            if (boxes[id * 4] <= maxX && boxes[id * 4 + 1] <= maxY && boxes[id * 4 + 2] >= minX && boxes[id * 4 + 3] >= minY)
+                consumer.accept(id);
+        }
+    }
+
+    private static boolean contains(int x0, int y0, int size, int x, int y) {
+        return x >= x0 && y >= y0 && (long) x < (long) x0 + size && (long) y < (long) y0 + size;
+    }
+
+    private int newNode() {
+        if (nodeCount == heads.length) {
+            heads = Arrays.copyOf(heads, nodeCount * 2);
+            children = Arrays.copyOf(children, nodeCount * 8);
+        }
+        heads[nodeCount] = -1;
+        return nodeCount++;
+    }
+
+    private void ensureEntry(int id) {
+        if (id < nodes.length)
+            return;
+        int capacity = Math.max(id + 1, nodes.length * 2);
+        int old = nodes.length;
+        nodes = Arrays.copyOf(nodes, capacity);
+        Arrays.fill(nodes, old, capacity, -1);
+        next = Arrays.copyOf(next, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+        boxes = Arrays.copyOf(boxes, capacity * 4);
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * A drawing mode of {@link Rasterizer#printLine}. Implementations outside this module are found
+ * through {@link java.util.ServiceLoader} and listed by {@link RasterAlgorithms}.
+ */
+public interface RasterAlgorithm {
+
+    enum Kind {
+        LINE,
+        CONIC,
+        CURVE,
+        FILL
+    }
+
+    /**
+     * The name the mode is selected and saved by.
+     */
+    String mode();
+
+    Kind kind();
+
+    /**
+     * Draws the primitive given by the two clicked points.
+     */
+    void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb);
+
+    /**
+     * Conservative bounding box of what {@link #draw} touches, stored in {@code out} as
+     * {@code minX, minY, maxX, maxY}. Returns {@code false} if the primitive is unbounded.
+     */
+    boolean bounds(int x1, int y1, int x2, int y2, int[] out);
+}
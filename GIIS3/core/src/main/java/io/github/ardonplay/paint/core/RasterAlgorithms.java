@@ -0,0 +1,56 @@
+package io.github.ardonplay.paint.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Registry of the drawing modes: the {@link StandardAlgorithm}s followed by every
+ * {@link RasterAlgorithm} provider on the module or class path. A provider cannot replace a
+ * mode that is already registered.
+ */
+public final class RasterAlgorithms {
+
+    private static final Map<String, RasterAlgorithm> ALGORITHMS = load();
+
+    private RasterAlgorithms() {
+    }
+
+    private static Map<String, RasterAlgorithm> load() {
+        Map<String, RasterAlgorithm> algorithms = new LinkedHashMap<>();
+        for (StandardAlgorithm algorithm : StandardAlgorithm.values()) {
+            algorithms.put(algorithm.mode(), algorithm);
+        }
+        for (RasterAlgorithm algorithm : ServiceLoader.load(RasterAlgorithm.class)) {
+            algorithms.putIfAbsent(algorithm.mode(), algorithm);
+        }
+        return Collections.unmodifiableMap(algorithms);
+    }
+
+    /**
+     * Returns the algorithm registered for {@code mode}, or {@code null} if there is none.
+     */
+    public static RasterAlgorithm get(String mode) {
+        return mode == null ? null : ALGORITHMS.get(mode);
+    }
+
+    public static List<String> modes() {
+        return List.copyOf(ALGORITHMS.keySet());
+    }
+
+    public static List<String> modes(RasterAlgorithm.Kind... kinds) {
+        List<String> modes = new ArrayList<>();
+        for (RasterAlgorithm algorithm : ALGORITHMS.values()) {
+            for (RasterAlgorithm.Kind kind : kinds) {
+                if (algorithm.kind() == kind) {
+                    modes.add(algorithm.mode());
+                    break;
+                }
+            }
+        }
+        return modes;
+    }
+}
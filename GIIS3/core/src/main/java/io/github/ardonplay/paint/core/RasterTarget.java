@@ -0,0 +1,41 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * Destination of every pixel produced by {@link Rasterizer}.
+ * Colors are packed premultiplied ARGB ints (INT_ARGB_PRE).
+ */
+public interface RasterTarget {
+    int getWidth();
+
+    int getHeight();
+
+    /**
+     * Pixels outside {@code [getMinX(), getMaxX()) x [getMinY(), getMaxY())} are discarded by the target,
+     * so rasterizers may skip them without changing the result.
+     */
+    default int getMinX() {
+        return 0;
+    }
+
+    default int getMinY() {
+        return 0;
+    }
+
+    default int getMaxX() {
+        return getWidth();
+    }
+
+    default int getMaxY() {
+        return getHeight();
+    }
+
+    void setPixel(int x, int y, int argb);
+
+    /**
+     * Composites {@code argb} scaled by {@code alpha} (0..255) over the pixel. Targets that
+     * cannot read back their pixels just replace them with the scaled color.
+     */
+    default void blendPixel(int x, int y, int argb, int alpha) {
+        setPixel(x, y, AlphaBlend.scale(argb, alpha));
+    }
+}
@@ -0,0 +1,683 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * The drawing algorithms of the paint applications, free of JavaFX. Every pixel goes to a
+ * {@link RasterTarget} and colors are premultiplied ARGB ints.
+ */
+public class Rasterizer {
+
+    /**
+     * Parameter steps of {@link CurveTessellation#FIXED_STEP}.
+     */
+    private static final int FIXED_STEPS = 100;
+
+    /**
+     * Shortest average run {@link #runSliceLine} draws as slices; steeper lines are cheaper pixel by pixel.
+     */
+    private static final int MIN_SLICE_RUN = 4;
+
+    /**
+     * Fraction bits of the fixed-point DDA in {@link #basicLine}.
+     */
+    private static final int DDA_SHIFT = 16;
+
+    private static final long DDA_HALF = 1L << (DDA_SHIFT - 1);
+
+    private RasterAlgorithm algorithm;
+
+
+    private final RasterTarget target;
+
+    /**
+     * The framebuffer behind the target, written directly by the line kernels; {@code null} for other targets.
+     */
+    private final Framebuffer raster;
+
+    private final WuLineRenderer wuLine;
+
+    private final MidpointConics conics;
+
+    private final CircleRasterizer circles;
+
+    private final PolygonFiller polygons;
+
+    private final int[] starPoints = new int[10];
+
+    private final int[] curvePoints = new int[8];
+
+    private final int[] primitiveBounds = new int[4];
+
+    private int[] unpackedPoints = new int[8];
+
+    private final CurveFlattener flattener = new CurveFlattener(this::bresenhamLine);
+
+    private CurveTessellation tessellation = CurveTessellation.ADAPTIVE;
+
+    private double[] controlPoints = new double[8];
+
+    private final CubicCurveIterator cubic = new CubicCurveIterator();
+
+    private final BSplineSegments bSpline = new BSplineSegments(this::drawBezier);
+
+    public Rasterizer(RasterTarget target) {
+        this.target = target;
+        if (target instanceof Framebuffer framebuffer) {
+            this.raster = framebuffer;
+        } else if (target instanceof TileTarget tile) {
+            this.raster = tile.getFramebuffer();
+        } else {
+            this.raster = null;
+        }
+        this.conics = new MidpointConics(target);
+        SpanWriter spans = new SpanWriter(target, raster);
+        this.wuLine = new WuLineRenderer(target, spans);
+        this.circles = new CircleRasterizer(target, spans);
+        this.polygons = new PolygonFiller(target, spans);
+    }
+
+    public CurveTessellation getCurveTessellation() {
+        return tessellation;
+    }
+
+    public void setCurveTessellation(CurveTessellation tessellation) {
+        this.tessellation = tessellation;
+    }
+
+    /**
+     * Selects the algorithm {@link #printLine} draws with; an unknown mode draws nothing.
+     */
+    public void setMode(String mode){
+        this.algorithm = RasterAlgorithms.get(mode);
+    }
+
+    public void setAlgorithm(RasterAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public RasterAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Draws with the selected algorithm, unless its bounds show the primitive misses the clip window.
+     */
+    public void printLine(int x1, int y1, int x2, int y2, int argb) {
+        if (algorithm == null)
+            return;
+        if (algorithm.bounds(x1, y1, x2, y2, primitiveBounds) && (primitiveBounds[2] < target.getMinX()
+                || primitiveBounds[3] < target.getMinY() || primitiveBounds[0] >= target.getMaxX()
+                || primitiveBounds[1] >= target.getMaxY()))
+            return;
+        algorithm.draw(this, x1, y1, x2, y2, argb);
+    }
+
+    /**
+     * A single pixel in place of a primitive that shrank below one.
+     */
+    void point(int x, int y, int argb) {
+        target.setPixel(x, y, argb);
+    }
+
+    /**
+     * Conservative bounding box of what {@link #printLine} draws for {@code mode}, stored in
+     * {@code out} as {@code minX, minY, maxX, maxY}. Returns {@code false} if the primitive is unbounded.
+     */
+    public static boolean bounds(String mode, int x1, int y1, int x2, int y2, int[] out) {
+        RasterAlgorithm algorithm = RasterAlgorithms.get(mode);
+        return algorithm != null && algorithm.bounds(x1, y1, x2, y2, out);
+    }
+
+    /**
+     * The four control points the curve modes derive from two clicked points; the array is reused.
+     * The inner ones lie a quarter along the chord and half its length to either side of it, so the
+     * curve keeps its shape when the points are moved or scaled together.
+     */
+    int[] controlPolygon(int x1, int y1, int x2, int y2) {
+        double dx = (double) x2 - x1;
+        double dy = (double) y2 - y1;
+        curvePoints[0] = x1;
+        curvePoints[1] = y1;
+        curvePoints[2] = (int) Math.round(x1 + dx / 4 - dy / 2);
+        curvePoints[3] = (int) Math.round(y1 + dy / 4 + dx / 2);
+        curvePoints[4] = (int) Math.round(x2 - dx / 4 + dy / 2);
+        curvePoints[5] = (int) Math.round(y2 - dy / 4 - dx / 2);
+        curvePoints[6] = x2;
+        curvePoints[7] = y2;
+        return curvePoints;
+    }
+
+    /**
+     * The five points of the pentagram the fill modes derive from two clicked points: centered on the
+     * first and with a tip on the second, listed in drawing order so the outline crosses itself.
+     * The array is reused.
+     */
+    int[] starPolygon(int x1, int y1, int x2, int y2) {
+        double radius = Math.hypot(x2 - x1, y2 - y1);
+        double angle = Math.atan2(y2 - y1, x2 - x1);
+        for (int i = 0; i < 5; i++) {
+            double tip = angle + i * 4 * Math.PI / 5;
+            starPoints[2 * i] = x1 + (int) Math.round(radius * Math.cos(tip));
+            starPoints[2 * i + 1] = y1 + (int) Math.round(radius * Math.sin(tip));
+        }
+        return starPoints;
+    }
+
+    private int[] unpack(long[] points, int count) {
+        if (unpackedPoints.length < count * 2)
+            unpackedPoints = new int[count * 2];
+        for (int i = 0; i < count; i++) {
+            unpackedPoints[2 * i] = Points.x(points[i]);
+            unpackedPoints[2 * i + 1] = Points.y(points[i]);
+        }
+        return unpackedPoints;
+    }
+
+    /**
+     * Draws {@code count} segments in one pass.
+     *
+     * @param coords segments stored as {@code x1, y1, x2, y2, ...}
+     */
+    public void drawLines(int[] coords, int count, int argb, LineAlgorithm algorithm) {
+        int end = count * 4;
+        switch (algorithm) {
+            case DDA -> {
+                for (int i = 0; i < end; i += 4)
+                    basicLine(coords[i], coords[i + 1], coords[i + 2], coords[i + 3], argb);
+            }
+            case BRESENHAM -> {
+                for (int i = 0; i < end; i += 4)
+                    bresenhamLine(coords[i], coords[i + 1], coords[i + 2], coords[i + 3], argb);
+            }
+            case WU -> {
+                for (int i = 0; i < end; i += 4)
+                    wuLine.draw(coords[i], coords[i + 1], coords[i + 2], coords[i + 3], argb);
+            }
+            case RUN_SLICE -> {
+                for (int i = 0; i < end; i += 4)
+                    runSliceLine(coords[i], coords[i + 1], coords[i + 2], coords[i + 3], argb);
+            }
+        }
+    }
+
+    public void bresenhamLine(int x1, int y1, int x2, int y2, int argb) {
+        line(x1, y1, x2, y2, argb, false);
+    }
+
+    /**
+     * The pixels of {@link #bresenhamLine}, drawn as run-length slices: the length of each run along
+     * the major axis is computed once, so the work grows with the minor axis instead of the major one.
+     */
+    public void runSliceLine(int x1, int y1, int x2, int y2, int argb) {
+        line(x1, y1, x2, y2, argb, true);
+    }
+
+    private void line(int x1, int y1, int x2, int y2, int argb, boolean runSlice) {
+        int deltaX = Math.abs(x2 - x1);
+        int deltaY = Math.abs(y2 - y1);
+        int signX = x1 < x2 ? 1 : -1;
+        int signY = y1 < y2 ? 1 : -1;
+
+        boolean xMajor = deltaX >= deltaY;
+        int major = xMajor ? deltaX : deltaY;
+        int minor = xMajor ? deltaY : deltaX;
+        if (major == 0) {
+            target.setPixel(x1, y1, argb);
+            return;
+        }
+
+        int clipMinX = clipMinX();
+        int clipMinY = clipMinY();
+        int clipMaxX = clipMaxX();
+        int clipMaxY = clipMaxY();
+        if ((outcode(x1, y1, clipMinX, clipMinY, clipMaxX, clipMaxY)
+                & outcode(x2, y2, clipMinX, clipMinY, clipMaxX, clipMaxY)) != 0)
+            return;
+
+        int majorStart = xMajor ? x1 : y1;
+        int majorSign = xMajor ? signX : signY;
+        int majorMin = xMajor ? clipMinX : clipMinY;
+        int majorMax = (xMajor ? clipMaxX : clipMaxY) - 1;
+        int minorStart = xMajor ? y1 : x1;
+        int minorSign = xMajor ? signY : signX;
+        int minorMin = xMajor ? clipMinY : clipMinX;
+        int minorMax = (xMajor ? clipMaxY : clipMaxX) - 1;
+
+        // at step k of the major axis the minor axis has moved floor((2 * minor * k + major - 1) / (2 * major)),
+        // so the walk can start and stop at the target's clip window instead of stepping across it
+        long twoMajor = 2L * major;
+        long twoMinor = 2L * minor;
+        long first = Math.max(0, lowerOffset(majorStart, majorSign, majorMin, majorMax));
+        long last = Math.min(major, upperOffset(majorStart, majorSign, majorMin, majorMax));
+
+        long minorFrom = lowerOffset(minorStart, minorSign, minorMin, minorMax);
+        long minorTo = upperOffset(minorStart, minorSign, minorMin, minorMax);
+        if (minor == 0) {
+            if (minorFrom > 0 || minorTo < 0)
+                return;
+        } else {
+            first = Math.max(first, -Math.floorDiv(major - 1 - twoMajor * minorFrom, twoMinor));
+            last = Math.min(last, -Math.floorDiv(major - 1 - twoMajor * (minorTo + 1), twoMinor) - 1);
+        }
+        if (first > last)
+            return;
+
+        long numerator = twoMinor * first + major - 1;
+        long minorOffset = Math.floorDiv(numerator, twoMajor);
+        long remainder = numerator - minorOffset * twoMajor;
+
+        int majorStepX = xMajor ? signX : 0;
+        int majorStepY = xMajor ? 0 : signY;
+        int minorStepX = xMajor ? 0 : signX;
+        int minorStepY = xMajor ? signY : 0;
+        int x = (int) (x1 + majorStepX * first + minorStepX * minorOffset);
+        int y = (int) (y1 + majorStepY * first + minorStepY * minorOffset);
+
+        if (runSlice && minor != 0 && major / minor >= MIN_SLICE_RUN) {
+            runSlices(x, y, first, last, minorOffset, major, xMajor, signX, signY, twoMinor, twoMajor, argb);
+            return;
+        }
+
+        if (raster != null) {
+            // every octant is the same walk over the row-major raster, only the strides differ
+            int stride = raster.getWidth();
+            int majorStride = xMajor ? signX : signY * stride;
+            int minorStride = xMajor ? signY * stride : signX;
+            int count = (int) (last - first + 1);
+            if (minor == 0) {
+                raster.fill(y * stride + x, majorStride, count, argb);
+            } else {
+                raster.line(y * stride + x, majorStride, minorStride, count, remainder, twoMinor, twoMajor, argb);
+            }
+            return;
+        }
+
+        for (long k = first; k <= last; k++) {
+            target.setPixel(x, y, argb);
+            x += majorStepX;
+            y += majorStepY;
+            remainder += twoMinor;
+            if (remainder >= twoMajor) {
+                remainder -= twoMajor;
+                x += minorStepX;
+                y += minorStepY;
+            }
+        }
+    }
+
+    /**
+     * Cohen-Sutherland region of a point against {@code [minX, maxX) x [minY, maxY)}: one bit per side
+     * it lies beyond, so a segment whose endpoints share a bit misses the window entirely.
+     */
+    private static int outcode(int x, int y, int minX, int minY, int maxX, int maxY) {
+        int code = 0;
+        if (x < minX)
+            code |= 1;
+        else if (x >= maxX)
+            code |= 2;
+        if (y < minY)
+            code |= 4;
+        else if (y >= maxY)
+            code |= 8;
+        return code;
+    }
+
+    /**
+     * Clip window of the line kernels: the target's window, limited to the raster they write into.
+     */
+    private int clipMinX() {
+        return raster == null ? target.getMinX() : Math.max(target.getMinX(), 0);
+    }
+
+    private int clipMinY() {
+        return raster == null ? target.getMinY() : Math.max(target.getMinY(), 0);
+    }
+
+    private int clipMaxX() {
+        return raster == null ? target.getMaxX() : Math.min(target.getMaxX(), raster.getWidth());
+    }
+
+    private int clipMaxY() {
+        return raster == null ? target.getMaxY() : Math.min(target.getMaxY(), raster.getHeight());
+    }
+
+    /**
+     * Draws major steps {@code first..last} of a line as runs, starting at pixel {@code (x, y)} on minor
+     * offset {@code minorOffset}. Offset {@code j} begins at step {@code ceil((2 * major * j - major + 1) / twoMinor)},
+     * so consecutive runs start {@code twoMajor / twoMinor} or one more steps apart.
+     */
+    private void runSlices(int x, int y, long first, long last, long minorOffset, int major, boolean xMajor,
+                           int signX, int signY, long twoMinor, long twoMajor, int argb) {
+        long runQuotient = twoMajor / twoMinor;
+        long runRemainder = twoMajor % twoMinor;
+        long start = twoMajor * (minorOffset + 1) - major + 1;
+        long next = -Math.floorDiv(-start, twoMinor);
+        long slack = next * twoMinor - start;
+
+        if (raster != null) {
+            int stride = raster.getWidth();
+            int majorStride = xMajor ? signX : signY * stride;
+            int minorStride = xMajor ? signY * stride : signX;
+            int index = y * stride + x;
+            for (long k = first; k <= last; ) {
+                int run = (int) (Math.min(next, last + 1) - k);
+                raster.fill(index, majorStride, run, argb);
+                index += run * majorStride + minorStride;
+                k += run;
+                next += runQuotient;
+                slack -= runRemainder;
+                if (slack < 0) {
+                    slack += twoMinor;
+                    next++;
+                }
+            }
+            return;
+        }
+
+        int majorStepX = xMajor ? signX : 0;
+        int majorStepY = xMajor ? 0 : signY;
+        for (long k = first; k <= last; ) {
+            int run = (int) (Math.min(next, last + 1) - k);
+            for (int i = 0; i < run; i++) {
+                target.setPixel(x, y, argb);
+                x += majorStepX;
+                y += majorStepY;
+            }
+            if (xMajor) {
+                y += signY;
+            } else {
+                x += signX;
+            }
+            k += run;
+            next += runQuotient;
+            slack -= runRemainder;
+            if (slack < 0) {
+                slack += twoMinor;
+                next++;
+            }
+        }
+    }
+
+    /**
+     * Smallest {@code k} with {@code start + sign * k >= min} (or {@code <= max} when walking backwards).
+     */
+    private static long lowerOffset(int start, int sign, int min, int max) {
+        return sign > 0 ? (long) min - start : (long) start - max;
+    }
+
+    /**
+     * Largest {@code k} with {@code start + sign * k <= max} (or {@code >= min} when walking backwards).
+     */
+    private static long upperOffset(int start, int sign, int min, int max) {
+        return sign > 0 ? (long) max - start : (long) start - min;
+    }
+
+    public void vuLine(int x1, int y1, int x2, int y2, int argb) {
+        wuLine.draw(x1, y1, x2, y2, argb);
+    }
+
+    public void basicLine(int x1, int y1, int x2, int y2, int argb) {
+        int length = Math.max(Math.abs(x2 - x1), Math.abs(y2 - y1));
+        if (length == 0) {
+            target.setPixel(x1, y1, argb);
+            return;
+        }
+
+        // 16.16 fixed point: the walk starts half a pixel along the direction of the line and
+        // takes length + 1 further steps, each one pixel on the major axis
+        long stepX = ddaStep(x2 - x1, length);
+        long stepY = ddaStep(y2 - y1, length);
+        long startX = ((long) x1 << DDA_SHIFT) + Integer.signum(x2 - x1) * DDA_HALF;
+        long startY = ((long) y1 << DDA_SHIFT) + Integer.signum(y2 - y1) * DDA_HALF;
+
+        int clipMinX = clipMinX();
+        int clipMinY = clipMinY();
+        int clipMaxX = clipMaxX();
+        int clipMaxY = clipMaxY();
+        // the walk ends one pixel past the end point, two when it runs toward negative coordinates
+        if ((outcode(x1, y1, clipMinX - 2, clipMinY - 2, clipMaxX + 2, clipMaxY + 2)
+                & outcode(x2, y2, clipMinX - 2, clipMinY - 2, clipMaxX + 2, clipMaxY + 2)) != 0)
+            return;
+
+        long minX = (long) clipMinX << DDA_SHIFT;
+        long minY = (long) clipMinY << DDA_SHIFT;
+        long maxX = ((long) clipMaxX << DDA_SHIFT) - 1;
+        long maxY = ((long) clipMaxY << DDA_SHIFT) - 1;
+        long first = Math.max(0, Math.max(firstStep(startX, stepX, minX, maxX), firstStep(startY, stepY, minY, maxY)));
+        long last = Math.min(length + 1L, Math.min(lastStep(startX, stepX, minX, maxX), lastStep(startY, stepY, minY, maxY)));
+        if (first > last)
+            return;
+
+        long x = startX + first * stepX;
+        long y = startY + first * stepY;
+        int count = (int) (last - first + 1);
+        if (raster != null) {
+            raster.dda(x, y, stepX, stepY, DDA_SHIFT, count, argb);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            target.setPixel((int) (x >> DDA_SHIFT), (int) (y >> DDA_SHIFT), argb);
+            x += stepX;
+            y += stepY;
+        }
+    }
+
+    /**
+     * {@code delta / length} in fixed point, rounded to nearest.
+     */
+    private static long ddaStep(int delta, int length) {
+        return Math.floorDiv(((long) delta << (DDA_SHIFT + 1)) + length, 2L * length);
+    }
+
+    /**
+     * First step {@code k >= 0} of {@code start + k * step} inside {@code [min, max]}, or
+     * {@link Long#MAX_VALUE} if a constant coordinate lies outside.
+     */
+    static long firstStep(long start, long step, long min, long max) {
+        if (step > 0)
+            return -Math.floorDiv(start - min, step);
+        if (step < 0)
+            return -Math.floorDiv(max - start, -step);
+        return start >= min && start <= max ? 0 : Long.MAX_VALUE;
+    }
+
+    /**
+     * Last step of {@code start + k * step} inside {@code [min, max]}, or {@code -1} if a constant
+     * coordinate lies outside.
+     */
+    static long lastStep(long start, long step, long min, long max) {
+        if (step > 0)
+            return Math.floorDiv(max - start, step);
+        if (step < 0)
+            return Math.floorDiv(start - min, -step);
+        return start >= min && start <= max ? Long.MAX_VALUE : -1;
+    }
+
+    public void drawCircle(int centerX, int centerY, int radius, int argb) {
+        circles.outline(centerX, centerY, radius, argb);
+    }
+
+    /**
+     * Disk of {@code radius}, filled with one span per row.
+     */
+    public void fillCircle(int centerX, int centerY, int radius, int argb) {
+        circles.fill(centerX, centerY, radius, argb);
+    }
+
+    /**
+     * Circle outline antialiased with Wu's algorithm and composited over the target.
+     */
+    public void drawAntialiasedCircle(int centerX, int centerY, int radius, int argb) {
+        circles.antialiased(centerX, centerY, radius, argb);
+    }
+
+    /**
+     * Fills the polygon with horizontal spans.
+     *
+     * @param points {@code count} vertices stored as {@code x0, y0, x1, y1, ...}; the last one is joined to the first
+     */
+    public void fillPolygon(int[] points, int count, FillRule rule, int argb) {
+        polygons.fill(points, count, rule, argb);
+    }
+
+    /**
+     * @param points {@code count} vertices packed with {@link Points#pack}
+     */
+    public void fillPolygon(long[] points, int count, FillRule rule, int argb) {
+        fillPolygon(unpack(points, count), count, rule, argb);
+    }
+
+    /**
+     * Ellipse with semi-axes {@code a} along x and {@code b} along y.
+     */
+    public void drawEllipse(int centerX, int centerY, int a, int b, int argb) {
+        conics.ellipse(centerX, centerY, a, b, argb);
+    }
+
+    /**
+     * Parabola arc {@code y = height * (x / halfWidth)^2} from the vertex out to {@code x = +-halfWidth};
+     * a negative height opens it upwards.
+     */
+    public void drawParabola(int vertexX, int vertexY, int halfWidth, int height, int argb) {
+        conics.parabola(vertexX, vertexY, halfWidth, height, argb);
+    }
+
+    /**
+     * Hyperbola {@code y^2 / b^2 - x^2 / a^2 = 1} with vertices {@code b} above and below the center,
+     * drawn to the edges of the target's clip window.
+     */
+    public void drawHyperbola(int centerX, int centerY, int a, int b, int argb) {
+        conics.hyperbola(centerX, centerY, a, b, argb);
+    }
+
+    public void drawHermiteCurve(int startX, int startY, int endX, int endY,
+                                 int startTanX, int startTanY, int endTanX, int endTanY,
+                                 int argb) {
+        // the same cubic in Bezier form: p0, p0 + t0 / 3, p1 - t1 / 3, p1
+        double[] bezier = controlPoints(4);
+        bezier[0] = startX;
+        bezier[1] = startY;
+        bezier[2] = startX + startTanX / 3.0;
+        bezier[3] = startY + startTanY / 3.0;
+        bezier[4] = endX - endTanX / 3.0;
+        bezier[5] = endY - endTanY / 3.0;
+        bezier[6] = endX;
+        bezier[7] = endY;
+        if (tessellation == CurveTessellation.ADAPTIVE) {
+            flatten(bezier, 4, argb);
+            return;
+        }
+        if (hullOutside(bezier, 4))
+            return;
+
+        cubic.hermite(startX, startY, endX, endY, startTanX, startTanY, endTanX, endTanY, FIXED_STEPS);
+        while (cubic.next()) {
+            target.setPixel((int) cubic.getX(), (int) cubic.getY(), argb);
+        }
+    }
+
+    /**
+     * @param points {@code count} control points packed with {@link Points#pack}
+     */
+    public void drawBezierCurve(long[] points, int count, int argb) {
+        drawBezierCurve(unpack(points, count), count, argb);
+    }
+
+    /**
+     * @param points {@code count} control points stored as {@code x0, y0, x1, y1, ...}
+     */
+    public void drawBezierCurve(int[] points, int count, int argb) {
+        double[] bezier = controlPoints(count);
+        for (int i = 0; i < count * 2; i++) {
+            bezier[i] = points[i];
+        }
+        drawBezier(bezier, count, argb);
+    }
+
+    private void drawBezier(double[] points, int count, int argb) {
+        if (tessellation == CurveTessellation.ADAPTIVE) {
+            flatten(points, count, argb);
+            return;
+        }
+        if (hullOutside(points, count))
+            return;
+        if (count == 4) {
+            cubic.bezier(points[0], points[1], points[2], points[3],
+                    points[4], points[5], points[6], points[7], FIXED_STEPS);
+            while (cubic.next()) {
+                target.setPixel((int) cubic.getX(), (int) cubic.getY(), argb);
+            }
+            return;
+        }
+
+        int n = count - 1;
+        double step = 0.01;
+
+        for (double t = 0.0; t <= 1.0; t += step) {
+            double x = 0.0;
+            double y = 0.0;
+
+            for (int i = 0; i <= n; i++) {
+                double coefficient = binomialCoefficient(n, i) * Math.pow(t, i) * Math.pow(1 - t, n - i);
+                x += coefficient * points[2 * i];
+                y += coefficient * points[2 * i + 1];
+            }
+
+            target.setPixel((int) x, (int) y, argb);
+        }
+    }
+
+    private double[] controlPoints(int count) {
+        if (controlPoints.length < count * 2)
+            controlPoints = new double[count * 2];
+        return controlPoints;
+    }
+
+    /**
+     * Whether the bounding box of the control polygon, which contains the curve, misses the clip window.
+     * The fixed-step loops truncate towards zero, so points less than a pixel before the window still land in it.
+     */
+    private boolean hullOutside(double[] points, int count) {
+        double left = points[0], right = left, top = points[1], bottom = top;
+        for (int i = 2; i < count * 2; i += 2) {
+            left = Math.min(left, points[i]);
+            right = Math.max(right, points[i]);
+            top = Math.min(top, points[i + 1]);
+            bottom = Math.max(bottom, points[i + 1]);
+        }
+        return right <= target.getMinX() - 1 || bottom <= target.getMinY() - 1
+                || left >= target.getMaxX() || top >= target.getMaxY();
+    }
+
+    private void flatten(double[] points, int count, int argb) {
+        flattener.flatten(points, count, argb, target.getMinX(), target.getMinY(), target.getMaxX(), target.getMaxY());
+    }
+
+    private int binomialCoefficient(int n, int k) {
+        int res = 1;
+        if (k > n - k)
+            k = n - k;
+        for (int i = 0; i < k; ++i) {
+            res *= (n - i);
+            res /= (i + 1);
+        }
+        return res;
+    }
+
+    public void drawBSpline(long[] points, int count, int argb) {
+        drawBSpline(unpack(points, count), count, argb);
+    }
+
+    /**
+     * Uniform cubic B-spline (lower degree when there are fewer than four control points).
+     */
+    public void drawBSpline(int[] points, int count, int argb) {
+        bSpline.uniform(points, count, Math.min(3, count - 1), argb);
+    }
+
+    /**
+     * @param knots non-decreasing knot vector of {@code count + degree + 1} values
+     */
+    public void drawBSpline(int[] points, int count, int degree, double[] knots, int argb) {
+        bSpline.segments(points, count, degree, knots, argb);
+    }
+}
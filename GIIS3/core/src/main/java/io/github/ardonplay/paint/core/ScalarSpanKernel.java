@@ -0,0 +1,19 @@
+package io.github.ardonplay.paint.core;
+
+import java.util.Arrays;
+
+class ScalarSpanKernel implements SpanKernel {
+
+    @Override
+    public void fill(int[] pixels, int from, int to, int argb) {
+        Arrays.fill(pixels, from, to, argb);
+    }
+
+    @Override
+    public void blend(int[] pixels, int offset, int count, int argb, int[] coverage, int coverageOffset) {
+        for (int i = 0; i < count; i++) {
+            int src = coverage == null ? argb : AlphaBlend.scale(argb, coverage[coverageOffset + i]);
+            pixels[offset + i] = AlphaBlend.over(pixels[offset + i], src);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.ardonplay.paint.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary scene format, little-endian:
+ * <pre>
+ * header   magic "GISC", u16 version, u16 record size, i32 primitive count, i32 mode count,
+ *          i32 records offset, i32 extra points offset, i32 extra point count, i32 reserved
+ * modes    per mode: u16 length, UTF-8 name
+ * records  per primitive, {@value #RECORD_SIZE} bytes: u16 mode index, u16 point count, i32 argb,
+ *          i32 x0, y0, x1, y1, i32 index of the first further coordinate in extra, i32 reserved
+ * extra    i32 x, y of every point past the second
+ * </pre>
+ * Records have a fixed width so a mapped file is read in place, without parsing. Version 2 derives
+ * the control points of the Hermite, Bezier and B-spline modes from the chord between the two
+ * points; version 1 files are still read unless they hold one of those modes.
+ */
+public final class SceneFile {
+
+    public static final int MAGIC = 'G' | 'I' << 8 | 'S' << 16 | 'C' << 24;
+    public static final int VERSION = 2;
+    public static final int HEADER_SIZE = 32;
+    public static final int RECORD_SIZE = 32;
+
+    private SceneFile() {
+    }
+
+    /**
+     * Writes a sibling file and moves it over {@code path}, so a scene mapped from {@code path},
+     * possibly the one being saved, keeps reading the old contents.
+     */
+    public static void write(Path path, List<Primitive> primitives) throws IOException {
+        Map<String, Integer> modeIndices = new HashMap<>();
+        List<byte[]> modes = new ArrayList<>();
+        long extraPoints = 0;
+        for (Primitive primitive : primitives) {
+            if (modeIndices.putIfAbsent(primitive.mode(), modes.size()) == null)
+                modes.add(primitive.mode().getBytes(StandardCharsets.UTF_8));
+            extraPoints += Math.max(0, primitive.points().length / 2 - 2);
+        }
+
+        long modesSize = 0;
+        for (byte[] mode : modes) {
+            modesSize += 2 + mode.length;
+        }
+        long recordsOffset = align(HEADER_SIZE + modesSize);
+        long extraOffset = recordsOffset + (long) primitives.size() * RECORD_SIZE;
+        long size = extraOffset + extraPoints * 8;
+        if (size > Integer.MAX_VALUE)
+            throw new IOException("Scene of " + size + " bytes is too large");
+
+        Path absolute = path.toAbsolutePath();
+        Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC)
+                    .putShort((short) VERSION)
+                    .putShort((short) RECORD_SIZE)
+                    .putInt(primitives.size())
+                    .putInt(modes.size())
+                    .putInt((int) recordsOffset)
+                    .putInt((int) extraOffset)
+                    .putInt((int) extraPoints)
+                    .putInt(0);
+            for (byte[] mode : modes) {
+                buffer.putShort((short) mode.length).put(mode);
+            }
+
+            int extra = 0;
+            buffer.position((int) recordsOffset);
+            for (Primitive primitive : primitives) {
+                int[] points = primitive.points();
+                int count = points.length / 2;
+                buffer.putShort(modeIndices.get(primitive.mode()).shortValue())
+                        .putShort((short) count)
+                        .putInt(primitive.argb());
+                for (int i = 0; i < 4; i++) {
+                    buffer.putInt(i < points.length ? points[i] : 0);
+                }
+                buffer.putInt(count > 2 ? extra : 0).putInt(0);
+                for (int i = 4; i < points.length; i++) {
+                    buffer.putInt((int) (extraOffset + extra * 4L), points[i]);
+                    extra++;
+                }
+            }
+            buffer.force();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Maps the file read-only; nothing is decoded until a record is accessed.
+     */
+    public static MappedScene map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE)
+                throw new IOException("Not a scene file: " + path);
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            return new MappedScene(buffer);
+        }
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+}
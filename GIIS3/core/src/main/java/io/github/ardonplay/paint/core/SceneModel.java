@@ -0,0 +1,361 @@
+package io.github.ardonplay.paint.core;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Retained list of everything drawn into a framebuffer, indexed by world bounds in a {@link QuadTree}
+ * for hit-testing and region queries, and shown through a pannable, zoomable {@link Viewport}
+ * with level of detail. A new primitive is rasterized straight
+ * away on top of the others; undo and resize only mark the affected rectangles invalid, and
+ * {@link #validate()} re-rasterizes just those rectangles from the stored primitives. Every pixel
+ * changed since the last {@link #getDamage()} consumer cleared it is recorded as damage, so a
+ * presenter can copy only what changed. With a {@link ParallelRenderer} set, the invalid rectangles
+ * are cut into tiles that are redrawn concurrently, with the same result. A loaded
+ * {@link MappedScene} stays mapped and is indexed and drawn from its buffer; primitives added
+ * afterwards are stored after its records.
+ */
+public class SceneModel {
+
+    /**
+     * How far in screen pixels a primitive may draw outside the transform of the world bounds it is
+     * indexed by. Every mode derives its shape from its two points alone, so it is off only by the
+     * 2 px the rasterizers stray from a shape, which the world bounds cover at scale 1 only, and the
+     * rounding of the transformed points, which moves the curves' inner control points under 2 px.
+     */
+    static final int SCREEN_MARGIN = 4;
+
+    private final Framebuffer framebuffer;
+    private final Rasterizer rasterizer;
+    /**
+     * Primitives added since the last load, with the ids following the mapped records.
+     */
+    private final List<Primitive> primitives = new ArrayList<>();
+    private MappedScene mapped;
+    private int mappedCount;
+    /**
+     * Whether the mapped records are in {@link #index}; a loaded scene is indexed on its first
+     * region query, so loading costs nothing per record.
+     */
+    private boolean mappedIndexed = true;
+    private final DirtyRegion invalid = new DirtyRegion();
+    private final DirtyRegion damage = new DirtyRegion();
+    private final QuadTree index = new QuadTree();
+    private final Viewport viewport = new Viewport();
+    private final ViewportRenderer renderer = new ViewportRenderer(viewport);
+    private final int[] bounds = new int[4];
+    private final Hits hits = new Hits();
+    private ParallelRenderer parallel;
+
+    /**
+     * Box around the world bounds of everything ever indexed since the last clear; a query
+     * containing it needs no index lookup.
+     */
+    private int extentMinX;
+    private int extentMinY;
+    private int extentMaxX;
+    private int extentMaxY;
+
+    public SceneModel(Framebuffer framebuffer) {
+        this.framebuffer = framebuffer;
+        this.rasterizer = new Rasterizer(framebuffer);
+        resetExtent();
+    }
+
+    public Framebuffer getFramebuffer() {
+        return framebuffer;
+    }
+
+    /**
+     * The current view; change it through {@link #pan} and {@link #zoom} so the scene is redrawn.
+     */
+    public Viewport getViewport() {
+        return viewport;
+    }
+
+    public void pan(double screenDeltaX, double screenDeltaY) {
+        viewport.pan(screenDeltaX, screenDeltaY);
+        invalidateAll();
+    }
+
+    /**
+     * @see Viewport#zoom
+     */
+    public void zoom(double factor, double screenX, double screenY) {
+        viewport.zoom(factor, screenX, screenY);
+        invalidateAll();
+    }
+
+    /**
+     * Renders {@link #validate()} tile by tile on {@code parallel}, or sequentially if it is {@code null}.
+     * A loaded scene is still drawn in one sequential walk until it is indexed, since tiles query the index.
+     */
+    public void setParallelRenderer(ParallelRenderer parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Read-only view of the scene in drawing order; mapped records are decoded as they are read.
+     */
+    public List<Primitive> getPrimitives() {
+        return new AbstractList<>() {
+            @Override
+            public Primitive get(int index) {
+                if (index < 0 || index >= size())
+                    throw new IndexOutOfBoundsException(index);
+                return primitive(index);
+            }
+
+            @Override
+            public int size() {
+                return SceneModel.this.size();
+            }
+        };
+    }
+
+    public int size() {
+        return mappedCount + primitives.size();
+    }
+
+    /**
+     * Adds a primitive given in world coordinates and draws it.
+     */
+    public void add(Primitive primitive) {
+        primitives.add(primitive);
+        insert(size() - 1, primitive.bounds(bounds));
+        renderer.draw(rasterizer, primitive);
+        if (renderer.bounds(primitive, bounds))
+            damage.add(bounds[0], bounds[1], bounds[2] + 1, bounds[3] + 1);
+        else
+            damage.add(0, 0, framebuffer.getWidth(), framebuffer.getHeight());
+    }
+
+    /**
+     * Removes the most recently added primitive. Returns {@code false} if the scene is empty.
+     */
+    public boolean undo() {
+        boolean bounded;
+        if (!primitives.isEmpty()) {
+            bounded = renderer.bounds(primitives.remove(primitives.size() - 1), bounds);
+        } else if (mappedCount > 0) {
+            mappedCount--;
+            bounded = renderer.bounds(mapped.getMode(mappedCount),
+                    mapped.getCoordinate(mappedCount, 0), mapped.getCoordinate(mappedCount, 1),
+                    mapped.getCoordinate(mappedCount, 2), mapped.getCoordinate(mappedCount, 3), bounds);
+        } else {
+            return false;
+        }
+        index.remove(size());
+        if (bounded)
+            invalid.add(bounds[0], bounds[1], bounds[2] + 1, bounds[3] + 1);
+        else
+            invalidateAll();
+        return true;
+    }
+
+    /**
+     * Replaces the scene with the records of a mapped file and redraws it in one pass. The records
+     * are drawn in place, so the file has to stay unchanged while it is loaded. They are indexed
+     * only when something first queries a region of the scene: a redraw of the whole frame walks
+     * them in order instead.
+     */
+    public void load(MappedScene scene) {
+        primitives.clear();
+        index.clear();
+        resetExtent();
+        mapped = scene;
+        mappedCount = scene.size();
+        mappedIndexed = mappedCount == 0;
+        invalidateAll();
+    }
+
+    public void clear() {
+        primitives.clear();
+        mapped = null;
+        mappedCount = 0;
+        mappedIndexed = true;
+        index.clear();
+        resetExtent();
+        invalidateAll();
+    }
+
+    /**
+     * Resizes the framebuffer; only the newly exposed strips are redrawn.
+     */
+    public void resize(int width, int height) {
+        int oldWidth = framebuffer.getWidth();
+        int oldHeight = framebuffer.getHeight();
+        if (width == oldWidth && height == oldHeight)
+            return;
+        framebuffer.resize(width, height);
+        invalid.add(oldWidth, 0, width, height);
+        invalid.add(0, oldHeight, width, height);
+        // whatever survived the resize has to be presented again at the new size
+        damage.add(0, 0, Math.min(width, oldWidth), Math.min(height, oldHeight));
+    }
+
+    public void invalidateAll() {
+        invalid.add(0, 0, framebuffer.getWidth(), framebuffer.getHeight());
+    }
+
+    public boolean isValid() {
+        return invalid.isEmpty();
+    }
+
+    /**
+     * Re-rasterizes the invalid rectangles and moves them to the damage.
+     */
+    public void validate() {
+        int width = framebuffer.getWidth();
+        int height = framebuffer.getHeight();
+        for (int i = 0; i < invalid.size(); i++) {
+            int minX = Math.max(invalid.getMinX(i), 0);
+            int minY = Math.max(invalid.getMinY(i), 0);
+            int maxX = Math.min(invalid.getMaxX(i), width);
+            int maxY = Math.min(invalid.getMaxY(i), height);
+            if (minX >= maxX || minY >= maxY)
+                continue;
+            // until a region is queried, a loaded scene is walked in one pass over the whole frame
+            boolean whole = minX == 0 && minY == 0 && maxX == width && maxY == height;
+            if (!mappedIndexed && !whole)
+                indexMapped();
+
+            if (parallel == null || !mappedIndexed) {
+                redraw(minX, minY, maxX, maxY, renderer, hits);
+            } else {
+                // each tile only reads the scene and writes its own pixels, through a renderer of its own
+                parallel.paintTiles(minX, minY, maxX, maxY,
+                        (tileMinX, tileMinY, tileMaxX, tileMaxY) -> redraw(tileMinX, tileMinY, tileMaxX, tileMaxY,
+                                new ViewportRenderer(viewport), new Hits()));
+            }
+            damage.add(minX, minY, maxX, maxY);
+        }
+        invalid.clear();
+    }
+
+    private void redraw(int minX, int minY, int maxX, int maxY, ViewportRenderer renderer, Hits hits) {
+        framebuffer.clear(minX, minY, maxX, maxY);
+        Rasterizer clipped = new Rasterizer(new TileTarget(framebuffer, minX, minY, maxX, maxY));
+        int worldMinX = viewport.toWorldX(minX - SCREEN_MARGIN);
+        int worldMinY = viewport.toWorldY(minY - SCREEN_MARGIN);
+        int worldMaxX = viewport.toWorldX(maxX + SCREEN_MARGIN);
+        int worldMaxY = viewport.toWorldY(maxY + SCREEN_MARGIN);
+        // a zoomed-out view holds the whole scene, which is cheaper to walk than to query and sort;
+        // so is a loaded scene that nothing has queried yet
+        renderer.begin(clipped);
+        if (!mappedIndexed
+                || worldMinX <= extentMinX && worldMinY <= extentMinY && worldMaxX >= extentMaxX && worldMaxY >= extentMaxY) {
+            for (int id = 0, size = size(); id < size; id++) {
+                draw(renderer, id);
+            }
+        } else {
+            collect(worldMinX, worldMinY, worldMaxX, worldMaxY, hits);
+            for (int i = 0; i < hits.count; i++) {
+                draw(renderer, hits.ids[i]);
+            }
+        }
+        renderer.finish();
+    }
+
+    private void draw(ViewportRenderer renderer, int id) {
+        if (id < mappedCount) {
+            renderer.add(mapped.getMode(id), mapped.getCoordinate(id, 0), mapped.getCoordinate(id, 1),
+                    mapped.getCoordinate(id, 2), mapped.getCoordinate(id, 3), mapped.getArgb(id));
+        } else {
+            renderer.add(primitives.get(id - mappedCount));
+        }
+    }
+
+    private Primitive primitive(int id) {
+        return id < mappedCount ? mapped.get(id) : primitives.get(id - mappedCount);
+    }
+
+    /**
+     * Indexes the primitive under {@code id} by the world bounds in {@link #bounds}, or everywhere if
+     * it is not {@code bounded}.
+     */
+    private void insert(int id, boolean bounded) {
+        if (!bounded) {
+            bounds[0] = Integer.MIN_VALUE;
+            bounds[1] = Integer.MIN_VALUE;
+            bounds[2] = Integer.MAX_VALUE;
+            bounds[3] = Integer.MAX_VALUE;
+        }
+        index.insert(id, bounds[0], bounds[1], bounds[2], bounds[3]);
+        extentMinX = Math.min(extentMinX, bounds[0]);
+        extentMinY = Math.min(extentMinY, bounds[1]);
+        extentMaxX = Math.max(extentMaxX, bounds[2]);
+        extentMaxY = Math.max(extentMaxY, bounds[3]);
+    }
+
+    private void indexMapped() {
+        for (int i = 0; i < mappedCount; i++) {
+            insert(i, mapped.bounds(i, bounds));
+        }
+        mappedIndexed = true;
+    }
+
+    private void resetExtent() {
+        extentMinX = Integer.MAX_VALUE;
+        extentMinY = Integer.MAX_VALUE;
+        extentMaxX = Integer.MIN_VALUE;
+        extentMaxY = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Topmost primitive whose bounds contain the world point {@code (x, y)}, or {@code null}.
+     */
+    public Primitive primitiveAt(int x, int y) {
+        collect(x, y, x, y, hits);
+        return hits.count == 0 ? null : primitive(hits.ids[hits.count - 1]);
+    }
+
+    /**
+     * Primitives whose bounds intersect the inclusive world box, in drawing order.
+     */
+    public List<Primitive> primitivesIn(int minX, int minY, int maxX, int maxY) {
+        collect(minX, minY, maxX, maxY, hits);
+        List<Primitive> result = new ArrayList<>(hits.count);
+        for (int i = 0; i < hits.count; i++) {
+            result.add(primitive(hits.ids[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Leaves the indices of the primitives intersecting the inclusive box in {@code hits}, in drawing order.
+     */
+    private void collect(int minX, int minY, int maxX, int maxY, Hits hits) {
+        if (!mappedIndexed)
+            indexMapped();
+        hits.count = 0;
+        index.query(minX, minY, maxX, maxY, hits);
+        Arrays.sort(hits.ids, 0, hits.count);
+    }
+
+    /**
+     * Rectangles changed since the consumer last cleared this region.
+     */
+    public DirtyRegion getDamage() {
+        return damage;
+    }
+
+    /**
+     * Growable list of the ids an index query reported.
+     */
+    private static class Hits implements IntConsumer {
+
+        private int[] ids = new int[64];
+        private int count;
+
+        @Override
+        public void accept(int id) {
+            if (count == ids.length)
+                ids = Arrays.copyOf(ids, count * 2);
+            ids[count++] = id;
+        }
+    }
+}
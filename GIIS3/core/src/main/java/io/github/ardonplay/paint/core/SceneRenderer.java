@@ -0,0 +1,143 @@
+package io.github.ardonplay.paint.core;
+
+import java.nio.IntBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a retained scene on a render thread and publishes its pixels to a presenting thread. Changes
+ * are queued with {@link #submit}; the render task applies every queued change, re-rasterizes the
+ * invalid parts into the scene's framebuffer (the back buffer) and copies the damaged rectangles
+ * into a front snapshot. The presenting thread only reads the snapshot, in {@link #present}.
+ * <p>
+ * Copying the damage under a lock gives what swapping two buffers would. The render thread writes
+ * the snapshot only under the lock, and only the rectangles a finished validation damaged; outside
+ * them the snapshot already holds the same pixels as the back buffer. So a present always reads the
+ * last finished frame, never part of one being drawn. A swap would also have to bring the stale
+ * buffer up to date with the same damage before the next frame, and this way nothing is drawn twice.
+ */
+public class SceneRenderer {
+
+    /**
+     * Receives a rectangle of the front snapshot, rows {@code stride} apart from {@code offset}.
+     */
+    public interface FrameSink {
+        void setPixels(int x, int y, int width, int height, int[] pixels, int offset, int stride);
+    }
+
+    private final SceneModel scene;
+
+    private final Executor executor;
+
+    private final Runnable frameReady;
+
+    private final Consumer<RuntimeException> errors;
+
+    private final Queue<Consumer<SceneModel>> changes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean renderScheduled = new AtomicBoolean();
+    private final AtomicBoolean presentScheduled = new AtomicBoolean();
+
+    /**
+     * Rectangles of the front snapshot not yet presented; also guards the snapshot.
+     */
+    private final DirtyRegion frontDamage = new DirtyRegion();
+    private int[] front = new int[0];
+    private int frontWidth;
+    private int frontHeight;
+
+    /**
+     * @param executor   runs the render task; it must run one task at a time, as the scene is not thread-safe
+     * @param frameReady called from the render task when a new frame waits for {@link #present}, once until then
+     * @param errors     told about every change or validation that failed; the rest of the batch still applies
+     */
+    public SceneRenderer(SceneModel scene, Executor executor, Runnable frameReady, Consumer<RuntimeException> errors) {
+        this.scene = scene;
+        this.executor = executor;
+        this.frameReady = frameReady;
+        this.errors = errors;
+    }
+
+    /**
+     * Queues a change of the scene for the render task, which is the only one to touch the scene.
+     */
+    public void submit(Consumer<SceneModel> change) {
+        changes.add(change);
+        if (renderScheduled.compareAndSet(false, true))
+            executor.execute(this::render);
+    }
+
+    private void render() {
+        // changes queued from now on schedule another render
+        renderScheduled.set(false);
+        Consumer<SceneModel> change;
+        while ((change = changes.poll()) != null) {
+            try {
+                change.accept(scene);
+            } catch (RuntimeException e) {
+                errors.accept(e);
+            }
+        }
+
+        try {
+            scene.validate();
+        } catch (RuntimeException e) {
+            // what was redrawn before the failure is still published
+            errors.accept(e);
+        }
+        DirtyRegion damage = scene.getDamage();
+        if (damage.isEmpty())
+            return;
+        synchronized (frontDamage) {
+            copyToFront(damage);
+            frontDamage.add(damage);
+        }
+        damage.clear();
+        if (presentScheduled.compareAndSet(false, true))
+            frameReady.run();
+    }
+
+    private void copyToFront(DirtyRegion damage) {
+        Framebuffer framebuffer = scene.getFramebuffer();
+        int width = framebuffer.getWidth();
+        int height = framebuffer.getHeight();
+        if (width != frontWidth || height != frontHeight) {
+            // the scene damages everything that survived a resize, so the new snapshot is filled in full
+            front = new int[width * height];
+            frontWidth = width;
+            frontHeight = height;
+            frontDamage.clear();
+        }
+        IntBuffer pixels = framebuffer.getPixels();
+        for (int i = 0; i < damage.size(); i++) {
+            int minX = Math.max(damage.getMinX(i), 0);
+            int minY = Math.max(damage.getMinY(i), 0);
+            int maxX = Math.min(damage.getMaxX(i), width);
+            int maxY = Math.min(damage.getMaxY(i), height);
+            for (int y = minY; y < maxY; y++) {
+                pixels.get(y * width + minX, front, y * width + minX, maxX - minX);
+            }
+        }
+    }
+
+    /**
+     * Hands every rectangle of the snapshot changed since the last call to {@code sink}.
+     */
+    public void present(FrameSink sink) {
+        presentScheduled.set(false);
+        synchronized (frontDamage) {
+            for (int i = 0; i < frontDamage.size(); i++) {
+                int minX = Math.max(frontDamage.getMinX(i), 0);
+                int minY = Math.max(frontDamage.getMinY(i), 0);
+                int maxX = Math.min(frontDamage.getMaxX(i), frontWidth);
+                int maxY = Math.min(frontDamage.getMaxY(i), frontHeight);
+                if (minX >= maxX || minY >= maxY)
+                    continue;
+                sink.setPixels(minX, minY, maxX - minX, maxY - minY, front, minY * frontWidth + minX, frontWidth);
+            }
+            frontDamage.clear();
+        }
+    }
+}
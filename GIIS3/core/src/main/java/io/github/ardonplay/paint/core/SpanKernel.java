@@ -0,0 +1,37 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * Bulk writes along one row of a heap int raster. {@link #INSTANCE} uses the Vector API when the
+ * {@code jdk.incubator.vector} module is present (run with {@code --add-modules jdk.incubator.vector})
+ * and the {@code paint.vector} system property is not {@code false}, plain loops otherwise.
+ */
+interface SpanKernel {
+
+    SpanKernel INSTANCE = load();
+
+    /**
+     * Sets {@code pixels[from..to)} to {@code argb}.
+     */
+    void fill(int[] pixels, int from, int to, int argb);
+
+    /**
+     * Composites {@code argb} source-over {@code count} pixels from {@code offset}, each scaled by
+     * the coverage (0..255) at the same position from {@code coverageOffset}. A {@code null}
+     * coverage means full coverage.
+     */
+    void blend(int[] pixels, int offset, int count, int argb, int[] coverage, int coverageOffset);
+
+    private static SpanKernel load() {
+        if (!"false".equals(System.getProperty("paint.vector"))
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // loaded by name so that this interface links without the incubator module
+                return (SpanKernel) Class.forName("io.github.ardonplay.paint.core.VectorSpanKernel")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // fall through to the scalar loops
+            }
+        }
+        return new ScalarSpanKernel();
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * Writes horizontal spans clipped to the target's clip window, straight into the framebuffer
+ * behind it when there is one.
+ */
+class SpanWriter {
+
+    private final RasterTarget target;
+
+    /**
+     * The framebuffer behind the target, filled span by span; {@code null} for other targets.
+     */
+    private final Framebuffer raster;
+
+    SpanWriter(RasterTarget target, Framebuffer raster) {
+        this.target = target;
+        this.raster = raster;
+    }
+
+    /**
+     * Sets {@code [fromX, toX)} of row {@code y}.
+     */
+    void span(int fromX, int toX, int y, int argb) {
+        if (y < target.getMinY() || y >= target.getMaxY())
+            return;
+        int from = Math.max(fromX, target.getMinX());
+        int to = Math.min(toX, target.getMaxX());
+        if (raster == null) {
+            for (int x = from; x < to; x++) {
+                target.setPixel(x, y, argb);
+            }
+            return;
+        }
+        from = Math.max(from, 0);
+        to = Math.min(to, raster.getWidth());
+        if (from < to && y >= 0 && y < raster.getHeight())
+            raster.fill(y * raster.getWidth() + from, 1, to - from, argb);
+    }
+
+    /**
+     * Composites {@code argb} source-over {@code count} pixels of row {@code y} from {@code fromX},
+     * each scaled by its coverage in {@code coverage}; uncovered pixels are left alone.
+     */
+    void blend(int fromX, int y, int[] coverage, int count, int argb) {
+        if (y < target.getMinY() || y >= target.getMaxY())
+            return;
+        int from = Math.max(fromX, target.getMinX());
+        int to = (int) Math.min((long) fromX + count, target.getMaxX());
+        if (raster == null) {
+            for (int x = from; x < to; x++) {
+                if (coverage[x - fromX] != 0)
+                    target.blendPixel(x, y, argb, coverage[x - fromX]);
+            }
+            return;
+        }
+        if (from < to)
+            raster.blendSpan(from, y, to - from, argb, coverage, from - fromX);
+    }
+}
@@ -0,0 +1,255 @@
+package io.github.ardonplay.paint.core;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * The drawing modes built into {@link Rasterizer}.
+ */
+public enum StandardAlgorithm implements RasterAlgorithm {
+    DDA("DDA", Kind.LINE) {
+        @Override
+        public void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb) {
+            rasterizer.basicLine(x1, y1, x2, y2, argb);
+        }
+
+        @Override
+        public boolean bounds(int x1, int y1, int x2, int y2, int[] out) {
+            return lineBounds(x1, y1, x2, y2, out);
+        }
+    },
+    BRESENHAM("Bresenham", Kind.LINE) {
+        @Override
+        public void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb) {
+            rasterizer.bresenhamLine(x1, y1, x2, y2, argb);
+        }
+
+        @Override
+        public boolean bounds(int x1, int y1, int x2, int y2, int[] out) {
+            return lineBounds(x1, y1, x2, y2, out);
+        }
+    },
+    WU("Vu", Kind.LINE) {
+        @Override
+        public void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb) {
+            rasterizer.vuLine(x1, y1, x2, y2, argb);
+        }
+
+        @Override
+        public boolean bounds(int x1, int y1, int x2, int y2, int[] out) {
+            return lineBounds(x1, y1, x2, y2, out);
+        }
+    },
+    RUN_SLICE("RunSlice", Kind.LINE) {
+        @Override
+        public void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb) {
+            rasterizer.runSliceLine(x1, y1, x2, y2, argb);
+        }
+
+        @Override
+        public boolean bounds(int x1, int y1, int x2, int y2, int[] out) {
+            return lineBounds(x1, y1, x2, y2, out);
+        }
+    },
+    CIRCLE("Circle", Kind.CONIC) {
+        @Override
+        public void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb) {
+            rasterizer.drawCircle(x1, y1, radius(x1, y1, x2, y2), argb);
+        }
+
+        @Override
+        public boolean bounds(int x1, int y1, int x2, int y2, int[] out) {
+            return circleBounds(x1, y1, x2, y2, out);
+        }
+    },
+    DISK("Disk", Kind.CONIC) {
+        @Override
+        public void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb) {
+            rasterizer.fillCircle(x1, y1, radius(x1, y1, x2, y2), argb);
+        }
+
+        @Override
+        public boolean bounds(int x1, int y1, int x2, int y2, int[] out) {
+            return circleBounds(x1, y1, x2, y2, out);
+        }
+    },
+    WU_CIRCLE("VuCircle", Kind.CONIC) {
+        @Override
+        public void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb) {
+            rasterizer.drawAntialiasedCircle(x1, y1, radius(x1, y1, x2, y2), argb);
+        }
+
+        @Override
+        public boolean bounds(int x1, int y1, int x2, int y2, int[] out) {
+            return circleBounds(x1, y1, x2, y2, out);
+        }
+    },
+    ELLIPSE("Ellipse", Kind.CONIC) {
+        @Override
+        public void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb) {
+            rasterizer.drawEllipse(x1, y1, Math.abs(x2 - x1), Math.abs(y2 - y1), argb);
+        }
+
+        @Override
+        public boolean bounds(int x1, int y1, int x2, int y2, int[] out) {
+            int a = Math.abs(x2 - x1);
+            int b = Math.abs(y2 - y1);
+            return setBounds(out, x1 - a, y1 - b, x1 + a, y1 + b);
+        }
+    },
+    PARABOLA("Parabola", Kind.CONIC) {
+        @Override
+        public void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb) {
+            rasterizer.drawParabola(x1, y1, Math.abs(x2 - x1), y2 - y1, argb);
+        }
+
+        @Override
+        public boolean bounds(int x1, int y1, int x2, int y2, int[] out) {
+            int halfWidth = Math.abs(x2 - x1);
+            return setBounds(out, x1 - halfWidth, min(y1, y2), x1 + halfWidth, max(y1, y2));
+        }
+    },
+    HYPERBOLA("Hyperbola", Kind.CONIC) {
+        @Override
+        public void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb) {
+            rasterizer.drawHyperbola(x1, y1, Math.abs(x2 - x1), Math.abs(y2 - y1), argb);
+        }
+
+        @Override
+        public boolean bounds(int x1, int y1, int x2, int y2, int[] out) {
+            // the branches run on to the edges of whatever they are drawn into
+            return false;
+        }
+    },
+    HERMITE("Hermite", Kind.CURVE) {
+        @Override
+        public void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb) {
+            // the tangents are the chord turned 45 degrees either way, so the arch scales with it
+            int dx = x2 - x1;
+            int dy = y2 - y1;
+            rasterizer.drawHermiteCurve(x1, y1, x2, y2, dx - dy, dy + dx, dx + dy, dy - dx, argb);
+        }
+
+        @Override
+        public boolean bounds(int x1, int y1, int x2, int y2, int[] out) {
+            // the Bezier form of the Hermite segment has control points p0 + t0 / 3 and p1 - t1 / 3
+            double dx = (double) x2 - x1;
+            double dy = (double) y2 - y1;
+            double c1x = x1 + (dx - dy) / 3;
+            double c1y = y1 + (dy + dx) / 3;
+            double c2x = x2 - (dx + dy) / 3;
+            double c2y = y2 - (dy - dx) / 3;
+            return setBounds(out, (int) Math.floor(min(min(x1, x2), min(c1x, c2x))),
+                    (int) Math.floor(min(min(y1, y2), min(c1y, c2y))),
+                    (int) Math.ceil(max(max(x1, x2), max(c1x, c2x))),
+                    (int) Math.ceil(max(max(y1, y2), max(c1y, c2y))));
+        }
+    },
+    BEZIER("Bezier", Kind.CURVE) {
+        @Override
+        public void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb) {
+            rasterizer.drawBezierCurve(rasterizer.controlPolygon(x1, y1, x2, y2), 4, argb);
+        }
+
+        @Override
+        public boolean bounds(int x1, int y1, int x2, int y2, int[] out) {
+            return controlPolygonBounds(x1, y1, x2, y2, out);
+        }
+    },
+    B_SPLINE("BSpline", Kind.CURVE) {
+        @Override
+        public void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb) {
+            rasterizer.drawBSpline(rasterizer.controlPolygon(x1, y1, x2, y2), 4, argb);
+        }
+
+        @Override
+        public boolean bounds(int x1, int y1, int x2, int y2, int[] out) {
+            return controlPolygonBounds(x1, y1, x2, y2, out);
+        }
+    },
+    STAR_EVEN_ODD("StarEvenOdd", Kind.FILL) {
+        @Override
+        public void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb) {
+            rasterizer.fillPolygon(rasterizer.starPolygon(x1, y1, x2, y2), 5, FillRule.EVEN_ODD, argb);
+        }
+
+        @Override
+        public boolean bounds(int x1, int y1, int x2, int y2, int[] out) {
+            // the tips lie on the circle through the second point
+            return circleBounds(x1, y1, x2, y2, out);
+        }
+    },
+    STAR_NON_ZERO("StarNonZero", Kind.FILL) {
+        @Override
+        public void draw(Rasterizer rasterizer, int x1, int y1, int x2, int y2, int argb) {
+            rasterizer.fillPolygon(rasterizer.starPolygon(x1, y1, x2, y2), 5, FillRule.NON_ZERO, argb);
+        }
+
+        @Override
+        public boolean bounds(int x1, int y1, int x2, int y2, int[] out) {
+            return circleBounds(x1, y1, x2, y2, out);
+        }
+    };
+
+    private static final int BOUNDS_MARGIN = 2;
+
+    private final String mode;
+
+    private final Kind kind;
+
+    StandardAlgorithm(String mode, Kind kind) {
+        this.mode = mode;
+        this.kind = kind;
+    }
+
+    @Override
+    public String mode() {
+        return mode;
+    }
+
+    @Override
+    public Kind kind() {
+        return kind;
+    }
+
+    private static boolean lineBounds(int x1, int y1, int x2, int y2, int[] out) {
+        return setBounds(out, min(x1, x2), min(y1, y2), max(x1, x2), max(y1, y2));
+    }
+
+    /**
+     * The circle modes are centered on the first point and pass through the second.
+     */
+    private static int radius(int x1, int y1, int x2, int y2) {
+        return (int) Math.round(Math.hypot(x2 - x1, y2 - y1));
+    }
+
+    private static boolean circleBounds(int x1, int y1, int x2, int y2, int[] out) {
+        int radius = radius(x1, y1, x2, y2);
+        return setBounds(out, x1 - radius, y1 - radius, x1 + radius, y1 + radius);
+    }
+
+    /**
+     * Bounds of the convex hull of {@link Rasterizer#controlPolygon}, which contains both curves.
+     */
+    private static boolean controlPolygonBounds(int x1, int y1, int x2, int y2, int[] out) {
+        // the inner points are rounded from these, which the margin covers
+        double dx = (double) x2 - x1;
+        double dy = (double) y2 - y1;
+        double c1x = x1 + dx / 4 - dy / 2;
+        double c1y = y1 + dy / 4 + dx / 2;
+        double c2x = x2 - dx / 4 + dy / 2;
+        double c2y = y2 - dy / 4 - dx / 2;
+        return setBounds(out, (int) Math.floor(min(min(x1, x2), min(c1x, c2x))),
+                (int) Math.floor(min(min(y1, y2), min(c1y, c2y))),
+                (int) Math.ceil(max(max(x1, x2), max(c1x, c2x))),
+                (int) Math.ceil(max(max(y1, y2), max(c1y, c2y))));
+    }
+
+    private static boolean setBounds(int[] out, int minX, int minY, int maxX, int maxY) {
+        out[0] = minX - BOUNDS_MARGIN;
+        out[1] = minY - BOUNDS_MARGIN;
+        out[2] = maxX + BOUNDS_MARGIN;
+        out[3] = maxY + BOUNDS_MARGIN;
+        return true;
+    }
+}
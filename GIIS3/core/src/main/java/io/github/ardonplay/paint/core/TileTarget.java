@@ -0,0 +1,69 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * Passes through only the pixels inside {@code [minX, maxX) x [minY, maxY)} of the framebuffer.
+ */
+public class TileTarget implements RasterTarget {
+
+    private final Framebuffer framebuffer;
+    private final int minX;
+    private final int minY;
+    private final int maxX;
+    private final int maxY;
+
+    public TileTarget(Framebuffer framebuffer, int minX, int minY, int maxX, int maxY) {
+        this.framebuffer = framebuffer;
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    Framebuffer getFramebuffer() {
+        return framebuffer;
+    }
+
+    @Override
+    public int getWidth() {
+        return framebuffer.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return framebuffer.getHeight();
+    }
+
+    @Override
+    public int getMinX() {
+        return minX;
+    }
+
+    @Override
+    public int getMinY() {
+        return minY;
+    }
+
+    @Override
+    public int getMaxX() {
+        return maxX;
+    }
+
+    @Override
+    public int getMaxY() {
+        return maxY;
+    }
+
+    @Override
+    public void setPixel(int x, int y, int argb) {
+        if (x < minX || y < minY || x >= maxX || y >= maxY)
+            return;
+        framebuffer.setPixel(x, y, argb);
+    }
+
+    @Override
+    public void blendPixel(int x, int y, int argb, int alpha) {
+        if (x < minX || y < minY || x >= maxX || y >= maxY)
+            return;
+        framebuffer.blendPixel(x, y, argb, alpha);
+    }
+}
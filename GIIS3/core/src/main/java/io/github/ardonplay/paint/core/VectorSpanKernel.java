@@ -0,0 +1,88 @@
+package io.github.ardonplay.paint.core;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link SpanKernel} on the widest int vectors of the platform, with scalar tails. Channels are
+ * multiplied in pairs ({@code 0x00FF00FF} lanes) and divided by 255 with rounding, which gives
+ * exactly the results of {@link AlphaBlend}.
+ */
+class VectorSpanKernel implements SpanKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private static final int PAIR_MASK = 0x00FF00FF;
+
+    private static final int PAIR_ROUNDING = 0x00800080;
+
+    private final ScalarSpanKernel tail = new ScalarSpanKernel();
+
+    @Override
+    public void fill(int[] pixels, int from, int to, int argb) {
+        int bound = from + SPECIES.loopBound(to - from);
+        if (bound > from)
+            fillVectors(pixels, from, bound, argb);
+        tail.fill(pixels, bound, to, argb);
+    }
+
+    @Override
+    public void blend(int[] pixels, int offset, int count, int argb, int[] coverage, int coverageOffset) {
+        int bound = SPECIES.loopBound(count);
+        if (bound > 0) {
+            if (coverage == null)
+                blendVectors(pixels, offset, bound, argb);
+            else
+                blendVectors(pixels, offset, bound, argb, coverage, coverageOffset);
+        }
+        tail.blend(pixels, offset + bound, count - bound, argb, coverage, coverage == null ? 0 : coverageOffset + bound);
+    }
+
+    // The vector loops live in methods of their own, entered only when they have work, and spell
+    // their arithmetic out: a vector passed to a method C2 does not inline is boxed on every call.
+
+    private static void fillVectors(int[] pixels, int from, int to, int argb) {
+        IntVector color = IntVector.broadcast(SPECIES, argb);
+        for (int i = from; i < to; i += SPECIES.length()) {
+            color.intoArray(pixels, i);
+        }
+    }
+
+    private static void blendVectors(int[] pixels, int offset, int count, int argb) {
+        IntVector src = IntVector.broadcast(SPECIES, argb);
+        int inverse = 255 - (argb >>> 24);
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            IntVector dst = IntVector.fromArray(SPECIES, pixels, offset + i);
+            // the destination's channel pairs times inverse / 255, rounded
+            IntVector high = dst.lanewise(VectorOperators.LSHR, 8).and(PAIR_MASK).mul(inverse).add(PAIR_ROUNDING);
+            IntVector low = dst.and(PAIR_MASK).mul(inverse).add(PAIR_ROUNDING);
+            high = high.add(high.lanewise(VectorOperators.LSHR, 8).and(PAIR_MASK)).and(~PAIR_MASK);
+            low = low.add(low.lanewise(VectorOperators.LSHR, 8).and(PAIR_MASK)).lanewise(VectorOperators.LSHR, 8).and(PAIR_MASK);
+            src.add(high.or(low)).intoArray(pixels, offset + i);
+        }
+    }
+
+    private static void blendVectors(int[] pixels, int offset, int count, int argb, int[] coverage, int coverageOffset) {
+        IntVector colorPairs = IntVector.broadcast(SPECIES, argb & PAIR_MASK);
+        IntVector alphaPairs = IntVector.broadcast(SPECIES, (argb >>> 8) & PAIR_MASK);
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            IntVector alpha = IntVector.fromArray(SPECIES, coverage, coverageOffset + i);
+            // the source's channel pairs times the coverage / 255, rounded
+            IntVector high = alphaPairs.mul(alpha).add(PAIR_ROUNDING);
+            IntVector low = colorPairs.mul(alpha).add(PAIR_ROUNDING);
+            high = high.add(high.lanewise(VectorOperators.LSHR, 8).and(PAIR_MASK)).and(~PAIR_MASK);
+            low = low.add(low.lanewise(VectorOperators.LSHR, 8).and(PAIR_MASK)).lanewise(VectorOperators.LSHR, 8).and(PAIR_MASK);
+            IntVector src = high.or(low);
+            IntVector inverse = src.lanewise(VectorOperators.LSHR, 24).neg().add(255);
+
+            // and the destination's times 255 minus the source's alpha
+            IntVector dst = IntVector.fromArray(SPECIES, pixels, offset + i);
+            high = dst.lanewise(VectorOperators.LSHR, 8).and(PAIR_MASK).mul(inverse).add(PAIR_ROUNDING);
+            low = dst.and(PAIR_MASK).mul(inverse).add(PAIR_ROUNDING);
+            high = high.add(high.lanewise(VectorOperators.LSHR, 8).and(PAIR_MASK)).and(~PAIR_MASK);
+            low = low.add(low.lanewise(VectorOperators.LSHR, 8).and(PAIR_MASK)).lanewise(VectorOperators.LSHR, 8).and(PAIR_MASK);
+            src.add(high.or(low)).intoArray(pixels, offset + i);
+        }
+    }
+}
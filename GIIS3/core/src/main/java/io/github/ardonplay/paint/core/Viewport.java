@@ -0,0 +1,83 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * Maps the world coordinates primitives are stored in to screen pixels:
+ * {@code screen = (world - origin) * scale}. Panning moves the origin, zooming changes the scale
+ * around a screen point that stays put.
+ */
+public class Viewport {
+
+    public static final double MIN_SCALE = 1.0 / 4096;
+
+    public static final double MAX_SCALE = 256;
+
+    /**
+     * Screen coordinates are clamped to this magnitude, so the rasterizers' integer arithmetic cannot
+     * overflow however far a primitive lies outside the view.
+     */
+    private static final double SCREEN_LIMIT = 1 << 28;
+
+    private double originX;
+    private double originY;
+    private double scale = 1;
+
+    public double getOriginX() {
+        return originX;
+    }
+
+    public double getOriginY() {
+        return originY;
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    public void set(double originX, double originY, double scale) {
+        this.originX = originX;
+        this.originY = originY;
+        this.scale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale));
+    }
+
+    /**
+     * Moves the view by a screen distance, so the world follows the pointer.
+     */
+    public void pan(double screenDeltaX, double screenDeltaY) {
+        originX -= screenDeltaX / scale;
+        originY -= screenDeltaY / scale;
+    }
+
+    /**
+     * Multiplies the scale by {@code factor}, keeping the world point under {@code (screenX, screenY)} in place.
+     */
+    public void zoom(double factor, double screenX, double screenY) {
+        double worldX = originX + screenX / scale;
+        double worldY = originY + screenY / scale;
+        scale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+        originX = worldX - screenX / scale;
+        originY = worldY - screenY / scale;
+    }
+
+    public int toScreenX(double worldX) {
+        return clamp((worldX - originX) * scale);
+    }
+
+    public int toScreenY(double worldY) {
+        return clamp((worldY - originY) * scale);
+    }
+
+    /**
+     * World column under a screen position, saturated to the {@code int} range.
+     */
+    public int toWorldX(double screenX) {
+        return (int) Math.floor(originX + screenX / scale);
+    }
+
+    public int toWorldY(double screenY) {
+        return (int) Math.floor(originY + screenY / scale);
+    }
+
+    private static int clamp(double value) {
+        return (int) Math.round(Math.max(-SCREEN_LIMIT, Math.min(SCREEN_LIMIT, value)));
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * Draws world-space primitives through a {@link Viewport} with level of detail. A primitive whose
+ * two points land on the same pixel is plotted as that pixel, and runs of line primitives that
+ * continue one another in the same mode and color are drawn as one polyline through
+ * {@link PolylineDecimator}, so a zoomed-out drawing costs about what its screen footprint does.
+ */
+class ViewportRenderer {
+
+    private final Viewport viewport;
+
+    private final PolylineDecimator decimator = new PolylineDecimator(this::chainLine);
+
+    private final int[] screenBounds = new int[4];
+
+    private Rasterizer rasterizer;
+
+    private String mode;
+
+    private RasterAlgorithm algorithm;
+
+    private boolean chaining;
+    private int chainArgb;
+    private int chainEndX;
+    private int chainEndY;
+
+    ViewportRenderer(Viewport viewport) {
+        this.viewport = viewport;
+    }
+
+    void draw(Rasterizer rasterizer, Primitive primitive) {
+        begin(rasterizer);
+        add(primitive);
+        finish();
+    }
+
+    /**
+     * Screen bounding box of the primitive, as {@link Rasterizer#bounds} gives it for the transformed points.
+     */
+    boolean bounds(Primitive primitive, int[] out) {
+        int[] points = primitive.points();
+        return bounds(primitive.mode(), points[0], points[1], points[2], points[3], out);
+    }
+
+    boolean bounds(String mode, int x1, int y1, int x2, int y2, int[] out) {
+        return Rasterizer.bounds(mode, viewport.toScreenX(x1), viewport.toScreenY(y1),
+                viewport.toScreenX(x2), viewport.toScreenY(y2), out);
+    }
+
+    /**
+     * Starts a pass of {@link #add} calls into {@code rasterizer}, ended by {@link #finish()}.
+     */
+    void begin(Rasterizer rasterizer) {
+        this.rasterizer = rasterizer;
+        mode = null;
+        algorithm = null;
+        chaining = false;
+    }
+
+    void finish() {
+        endChain();
+        rasterizer = null;
+    }
+
+    void add(Primitive primitive) {
+        int[] points = primitive.points();
+        add(primitive.mode(), points[0], points[1], points[2], points[3], primitive.argb());
+    }
+
+    /**
+     * Draws the primitive with the world points {@code (x1, y1)} and {@code (x2, y2)}.
+     */
+    void add(String primitiveMode, int x1, int y1, int x2, int y2, int argb) {
+        boolean sameMode = primitiveMode == mode || primitiveMode.equals(mode);
+        if (chaining && !(sameMode && argb == chainArgb && x1 == chainEndX && y1 == chainEndY))
+            endChain();
+        if (!sameMode) {
+            mode = primitiveMode;
+            algorithm = RasterAlgorithms.get(mode);
+            rasterizer.setAlgorithm(algorithm);
+        }
+        if (algorithm == null)
+            return;
+
+        int screenX2 = viewport.toScreenX(x2);
+        int screenY2 = viewport.toScreenY(y2);
+        if (chaining) {
+            decimator.add(screenX2, screenY2);
+        } else {
+            int screenX1 = viewport.toScreenX(x1);
+            int screenY1 = viewport.toScreenY(y1);
+            if (algorithm.kind() == RasterAlgorithm.Kind.LINE) {
+                decimator.begin(screenX1, screenY1, argb);
+                decimator.add(screenX2, screenY2);
+                chaining = true;
+                chainArgb = argb;
+            } else if (screenX1 == screenX2 && screenY1 == screenY2
+                    && algorithm.bounds(screenX1, screenY1, screenX2, screenY2, screenBounds)) {
+                rasterizer.point(screenX1, screenY1, argb);
+            } else {
+                rasterizer.printLine(screenX1, screenY1, screenX2, screenY2, argb);
+            }
+        }
+        chainEndX = x2;
+        chainEndY = y2;
+    }
+
+    private void endChain() {
+        if (!chaining)
+            return;
+        chaining = false;
+        decimator.finish();
+    }
+
+    private void chainLine(int x1, int y1, int x2, int y2, int argb) {
+        rasterizer.printLine(x1, y1, x2, y2, argb);
+    }
+}
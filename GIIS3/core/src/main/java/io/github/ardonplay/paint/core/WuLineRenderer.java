@@ -0,0 +1,128 @@
+package io.github.ardonplay.paint.core;
+
+/**
+ * Xiaolin Wu's antialiased line in 16.16 fixed point. Coverage is quantized to 8 bits. Shallow
+ * lines collect the coverage of each run along a row and blend it as one span; steep ones hand
+ * every pixel to {@link RasterTarget#blendPixel}. The run buffers are reused, so drawing a line
+ * allocates nothing once they have grown to the window's width.
+ */
+public class WuLineRenderer {
+
+    private static final int ONE = 1 << 16;
+
+    private final RasterTarget target;
+
+    private final SpanWriter spans;
+
+    /**
+     * Coverage of the current run on its row and on the row below.
+     */
+    private int[] upper = new int[64];
+
+    private int[] lower = new int[64];
+
+    public WuLineRenderer(RasterTarget target) {
+        this(target, new SpanWriter(target, null));
+    }
+
+    WuLineRenderer(RasterTarget target, SpanWriter spans) {
+        this.target = target;
+        this.spans = spans;
+    }
+
+    public void draw(int x0, int y0, int x1, int y1, int argb) {
+        if (x0 == x1 && y0 == y1) {
+            // both half-covered end points would land on the same pixel
+            target.blendPixel(x0, y0, argb, 255);
+            return;
+        }
+        boolean steep = Math.abs(y1 - y0) > Math.abs(x1 - x0);
+        if (steep) {
+            int swap = x0;
+            x0 = y0;
+            y0 = swap;
+            swap = x1;
+            x1 = y1;
+            y1 = swap;
+        }
+        if (x0 > x1) {
+            int swap = x0;
+            x0 = x1;
+            x1 = swap;
+            swap = y0;
+            y0 = y1;
+            y1 = swap;
+        }
+
+        int dx = x1 - x0;
+        int dy = y1 - y0;
+        long gradient = dx == 0 ? ONE : ((long) dy << 16) / dx;
+
+        // integer endpoints sit on pixel centres, so each one gets half coverage
+        plot(steep, x0, y0, 128, argb);
+        plot(steep, x1, y1, 128, argb);
+
+        // intery is exact in fixed point, so the walk can jump straight to the clip window: the major
+        // axis bounds it directly, the minor one where the pixel pair (y, y + 1) enters and leaves it
+        int from = Math.max(x0 + 1, steep ? target.getMinY() : target.getMinX());
+        int to = Math.min(x1, steep ? target.getMaxY() : target.getMaxX());
+        long intery = ((long) y0 << 16) + gradient * (from - x0);
+        long minMinor = (long) ((steep ? target.getMinX() : target.getMinY()) - 1) << 16;
+        long maxMinor = ((long) (steep ? target.getMaxX() : target.getMaxY()) << 16) - 1;
+        long first = Math.max(0, Rasterizer.firstStep(intery, gradient, minMinor, maxMinor));
+        long last = Math.min(to - from - 1L, Rasterizer.lastStep(intery, gradient, minMinor, maxMinor));
+        if (first > last)
+            return;
+        intery += gradient * first;
+        to = from + (int) last + 1;
+        from += (int) first;
+        if (steep) {
+            for (int x = from; x < to; x++) {
+                int y = (int) (intery >> 16);
+                int coverage = (int) (intery >> 8) & 0xFF;
+                plot(true, x, y, 255 - coverage, argb);
+                plot(true, x, y + 1, coverage, argb);
+                intery += gradient;
+            }
+            return;
+        }
+
+        if (upper.length < to - from) {
+            upper = new int[Math.max(to - from, 2 * upper.length)];
+            lower = new int[upper.length];
+        }
+        int runStart = from;
+        int runY = (int) (intery >> 16);
+        for (int x = from; x < to; x++) {
+            int y = (int) (intery >> 16);
+            if (y != runY) {
+                flush(runStart, runY, x - runStart, argb);
+                runStart = x;
+                runY = y;
+            }
+            int coverage = (int) (intery >> 8) & 0xFF;
+            upper[x - runStart] = 255 - coverage;
+            lower[x - runStart] = coverage;
+            intery += gradient;
+        }
+        flush(runStart, runY, to - runStart, argb);
+    }
+
+    /**
+     * Blends the run of {@code count} pixel pairs from column {@code x}; every pixel of the line is
+     * covered once, so blending row by row gives the same pixels as blending pair by pair.
+     */
+    private void flush(int x, int y, int count, int argb) {
+        spans.blend(x, y, upper, count, argb);
+        spans.blend(x, y + 1, lower, count, argb);
+    }
+
+    private void plot(boolean steep, int x, int y, int coverage, int argb) {
+        if (coverage == 0)
+            return;
+        if (steep)
+            target.blendPixel(y, x, argb, coverage);
+        else
+            target.blendPixel(x, y, argb, coverage);
+    }
+}
@@ -0,0 +1,7 @@
+module io.github.ardonplay.paint.core {
+    requires static jdk.incubator.vector;
+
+    exports io.github.ardonplay.paint.core;
+
+    uses io.github.ardonplay.paint.core.RasterAlgorithm;
+}
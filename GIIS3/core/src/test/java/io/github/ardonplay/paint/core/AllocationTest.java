@@ -0,0 +1,91 @@
+package io.github.ardonplay.paint.core;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The stepping loops must not allocate once warmed up: each path runs until the JIT has compiled it,
+ * then the bytes allocated by this thread are compared around a second run.
+ */
+class AllocationTest {
+
+    private static final int WARMUP = 2_000;
+
+    private static final int SEGMENTS = 64;
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    private final Framebuffer framebuffer = new Framebuffer(256, 256);
+    private final Rasterizer rasterizer = new Rasterizer(framebuffer);
+    private final int[] coords = new int[SEGMENTS * 4];
+
+    @BeforeAll
+    static void threadAllocation() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    AllocationTest() {
+        Random random = new Random(2);
+        for (int i = 0; i < coords.length; i++) {
+            // some segments reach outside the framebuffer and are clipped
+            coords[i] = random.nextInt(400) - 50;
+        }
+    }
+
+    @Test
+    void ddaLines() {
+        assertNoAllocation(() -> rasterizer.drawLines(coords, SEGMENTS, 0xFF000000, LineAlgorithm.DDA));
+    }
+
+    @Test
+    void bresenhamLines() {
+        assertNoAllocation(() -> rasterizer.drawLines(coords, SEGMENTS, 0xFF000000, LineAlgorithm.BRESENHAM));
+    }
+
+    @Test
+    void runSliceLines() {
+        assertNoAllocation(() -> rasterizer.drawLines(coords, SEGMENTS, 0xFF000000, LineAlgorithm.RUN_SLICE));
+    }
+
+    @Test
+    void wuLines() {
+        assertNoAllocation(() -> rasterizer.drawLines(coords, SEGMENTS, 0x80204060, LineAlgorithm.WU));
+    }
+
+    @Test
+    void wuLinesThroughTileTarget() {
+        Rasterizer tile = new Rasterizer(new TileTarget(framebuffer, 32, 32, 160, 160));
+        assertNoAllocation(() -> tile.drawLines(coords, SEGMENTS, 0x80204060, LineAlgorithm.WU));
+    }
+
+    @Test
+    void printLineModes() {
+        for (String mode : RasterAlgorithms.modes(RasterAlgorithm.Kind.LINE)) {
+            rasterizer.setMode(mode);
+            assertNoAllocation(() -> {
+                for (int i = 0; i < coords.length; i += 4)
+                    rasterizer.printLine(coords[i], coords[i + 1], coords[i + 2], coords[i + 3], 0xFF000000);
+            });
+        }
+    }
+
+    private static void assertNoAllocation(Runnable path) {
+        for (int i = 0; i < WARMUP; i++) {
+            path.run();
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        path.run();
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertEquals(0, allocated, "bytes allocated");
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.ardonplay.paint.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A banded export must show exactly what the scene model shows through the same viewport.
+ */
+class BandExporterTest {
+
+    private static final int WIDTH = 700;
+    private static final int HEIGHT = 560;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void matchesTheSceneThroughTheSameViewport() throws IOException {
+        Path path = directory.resolve("scene.gisc");
+        SceneFile.write(path, ParallelRendererTest.randomPrimitives(new Random(4), 600));
+        MappedScene scene = SceneFile.map(path);
+
+        for (double scale : new double[]{1, 0.45, 2.5}) {
+            SceneModel model = new SceneModel(new Framebuffer(WIDTH, HEIGHT));
+            model.load(scene);
+            model.getViewport().set(-40.5, 25.25, scale);
+            model.invalidateAll();
+            model.validate();
+            byte[] expected = new byte[WIDTH * HEIGHT * 4];
+            AlphaBlend.toRgba(model.getFramebuffer().getPixels(), 0, WIDTH * HEIGHT, expected, 0);
+
+            Viewport viewport = new Viewport();
+            viewport.set(-40.5, 25.25, scale);
+            Path output = directory.resolve("export.rgba");
+            try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                new BandExporter(WIDTH, HEIGHT, 37, viewport).exportRaw(scene, channel);
+            }
+            assertArrayEquals(expected, Files.readAllBytes(output), "scale " + scale);
+        }
+    }
+
+    @Test
+    void clampsBandsToOneArray() {
+        assertEquals(10, new BandExporter(100_000, 10, 100_000).getBandHeight());
+        assertEquals((Integer.MAX_VALUE - 9) / 4 / 100_000, new BandExporter(100_000, 1_000_000, 100_000).getBandHeight());
+        assertThrows(IllegalArgumentException.class, () -> new BandExporter(1 << 29, 1, 1));
+    }
+}
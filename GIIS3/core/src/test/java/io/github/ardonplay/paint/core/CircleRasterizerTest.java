@@ -0,0 +1,135 @@
+package io.github.ardonplay.paint.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every circle variant writes each pixel once; the outline stays within half a pixel of the circle,
+ * the disk fills it row by row and the antialiased ring splits full coverage across the edge.
+ */
+class CircleRasterizerTest {
+
+    private static final int MAX_RADIUS = 400;
+
+    @Test
+    void outlineWritesEachPixelOnceWithinHalfAPixel() {
+        for (int radius = 0; radius <= MAX_RADIUS; radius++) {
+            Recorder outline = new Recorder(radius);
+            int size = outline.size;
+            int center = radius + 1;
+            new Rasterizer(outline).drawCircle(center, center, radius, 0xFF000000);
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    int writes = outline.writes[y * size + x];
+                    assertTrue(writes <= 1, "radius " + radius + " writes " + x + "," + y + " " + writes + " times");
+                    if (writes == 0)
+                        continue;
+                    double distance = Math.abs(Math.hypot(x - center, y - center) - radius);
+                    assertTrue(distance <= 0.5 + 1e-9, "radius " + radius + " draws " + x + "," + y + " " + distance + " off");
+                    // the eight symmetric pixels are all drawn
+                    int dx = x - center;
+                    int dy = y - center;
+                    assertTrue(outline.drawn(center - dx, center + dy) && outline.drawn(center + dx, center - dy)
+                            && outline.drawn(center + dy, center + dx), "radius " + radius + " is not symmetric");
+                }
+            }
+        }
+    }
+
+    @Test
+    void diskFillsEveryRowBetweenTheOutline() {
+        for (int radius = 0; radius <= MAX_RADIUS; radius++) {
+            Recorder outline = new Recorder(radius);
+            Recorder disk = new Recorder(radius);
+            int size = outline.size;
+            int center = radius + 1;
+            new Rasterizer(outline).drawCircle(center, center, radius, 0xFF000000);
+            new Rasterizer(disk).fillCircle(center, center, radius, 0xFF000000);
+            for (int y = 0; y < size; y++) {
+                int left = size;
+                int right = -1;
+                for (int x = 0; x < size; x++) {
+                    if (outline.drawn(x, y)) {
+                        left = Math.min(left, x);
+                        right = Math.max(right, x);
+                    }
+                }
+                for (int x = 0; x < size; x++) {
+                    int expected = x >= left && x <= right ? 1 : 0;
+                    assertEquals(expected, disk.writes[y * size + x], "radius " + radius + " at " + x + "," + y);
+                }
+            }
+        }
+    }
+
+    @Test
+    void antialiasedRingSplitsFullCoverageAcrossTheEdge() {
+        for (int radius = 1; radius <= MAX_RADIUS; radius++) {
+            Recorder ring = new Recorder(radius);
+            int size = ring.size;
+            int center = radius + 1;
+            new Rasterizer(ring).drawAntialiasedCircle(center, center, radius, 0xFF000000);
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    int writes = ring.writes[y * size + x];
+                    assertTrue(writes <= 1, "radius " + radius + " blends " + x + "," + y + " " + writes + " times");
+                    if (writes != 0)
+                        assertTrue(Math.abs(Math.hypot(x - center, y - center) - radius) < 1,
+                                "radius " + radius + " blends " + x + "," + y);
+                }
+            }
+            // in the first octant the two pixels straddling the edge of each row share it
+            for (int dy = 0; 2L * dy * dy <= (long) radius * radius; dy++) {
+                int edge = (int) Math.sqrt((double) radius * radius - (double) dy * dy);
+                int row = (center + dy) * size + center;
+                assertEquals(255, ring.alpha[row + edge] + ring.alpha[row + edge + 1],
+                        "radius " + radius + " row " + dy);
+            }
+        }
+    }
+
+    /**
+     * Square window around a circle of the radius centered at {@code radius + 1}, with a pixel to
+     * spare for the antialiased ring. Counts the writes of every pixel and keeps the coverage it was
+     * last blended with.
+     */
+    private static class Recorder implements RasterTarget {
+
+        private final int size;
+        private final int[] writes;
+        private final int[] alpha;
+
+        Recorder(int radius) {
+            size = 2 * radius + 3;
+            writes = new int[size * size];
+            alpha = new int[size * size];
+        }
+
+        @Override
+        public int getWidth() {
+            return size;
+        }
+
+        @Override
+        public int getHeight() {
+            return size;
+        }
+
+        @Override
+        public void setPixel(int x, int y, int argb) {
+            writes[y * size + x]++;
+        }
+
+        @Override
+        public void blendPixel(int x, int y, int argb, int coverage) {
+            writes[y * size + x]++;
+            alpha[y * size + x] = coverage;
+        }
+
+        boolean drawn(int x, int y) {
+            return writes[y * size + x] > 0;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.ardonplay.paint.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Clipping is only a shortcut: inside the clip window, every mode must write exactly the pixels of
+ * drawing it against a window wide enough to hold the whole primitive.
+ */
+class ClippingTest {
+
+    private static final int MIN_X = 100;
+    private static final int MIN_Y = 80;
+    private static final int MAX_X = 420;
+    private static final int MAX_Y = 320;
+
+    // far enough that no primitive below reaches it
+    private static final int REACH = 1 << 14;
+
+    @Test
+    void clippedModesMatchUnclippedInTheWindow() {
+        Random random = new Random(23);
+        List<String> modes = RasterAlgorithms.modes();
+        for (String mode : modes) {
+            for (int i = 0; i < 300; i++) {
+                // end points around the window and well outside it on every side
+                int x1 = random.nextInt(3000) - 1300;
+                int y1 = random.nextInt(3000) - 1300;
+                int x2 = i % 3 == 0 ? x1 + random.nextInt(21) - 10 : random.nextInt(3000) - 1300;
+                int y2 = i % 3 == 0 ? y1 + random.nextInt(21) - 10 : random.nextInt(3000) - 1300;
+                Recorder unclipped = new Recorder(-REACH, -REACH, REACH, REACH);
+                Recorder clipped = new Recorder(MIN_X, MIN_Y, MAX_X, MAX_Y);
+                for (Recorder recorder : new Recorder[]{unclipped, clipped}) {
+                    Rasterizer rasterizer = new Rasterizer(recorder);
+                    rasterizer.setMode(mode);
+                    rasterizer.printLine(x1, y1, x2, y2, 0xFF000000);
+                }
+                String name = mode + " " + x1 + "," + y1 + " " + x2 + "," + y2;
+                assertArrayEquals(unclipped.writes, clipped.writes, name);
+                assertArrayEquals(unclipped.alpha, clipped.alpha, name);
+            }
+        }
+    }
+
+    @Test
+    void framebufferTilesMatchTheWholeFramebufferForFarLines() {
+        Random random = new Random(24);
+        Framebuffer whole = new Framebuffer(MAX_X, MAX_Y);
+        Framebuffer tiled = new Framebuffer(MAX_X, MAX_Y);
+        Rasterizer wholeRasterizer = new Rasterizer(whole);
+        LineAlgorithm[] algorithms = LineAlgorithm.values();
+        int[] coords = new int[4];
+        for (int i = 0; i < 400; i++) {
+            // lines passing through the framebuffer from up to a million pixels away
+            int far = 1 << random.nextInt(21);
+            coords[0] = random.nextInt(MAX_X) - random.nextInt(2) * far;
+            coords[1] = random.nextInt(MAX_Y) + (random.nextInt(3) - 1) * far;
+            coords[2] = random.nextInt(MAX_X) + random.nextInt(2) * far;
+            coords[3] = random.nextInt(MAX_Y) + (random.nextInt(3) - 1) * far;
+            LineAlgorithm algorithm = algorithms[i % algorithms.length];
+            int argb = 0xFF000000 | random.nextInt(1 << 24);
+            wholeRasterizer.drawLines(coords, 1, argb, algorithm);
+            for (int y = 0; y < MAX_Y; y += 90) {
+                for (int x = 0; x < MAX_X; x += 110) {
+                    TileTarget tile = new TileTarget(tiled, x, y, Math.min(x + 110, MAX_X), Math.min(y + 90, MAX_Y));
+                    new Rasterizer(tile).drawLines(coords, 1, argb, algorithm);
+                }
+            }
+        }
+        assertArrayEquals(ParallelRendererTest.pixels(whole), ParallelRendererTest.pixels(tiled));
+    }
+
+    /**
+     * Reports the given clip window and records the pixels written inside
+     * {@code [MIN_X, MAX_X) x [MIN_Y, MAX_Y)}: how often, and the coverage last blended.
+     */
+    private static class Recorder implements RasterTarget {
+
+        private final int minX;
+        private final int minY;
+        private final int maxX;
+        private final int maxY;
+        private final int[] writes = new int[(MAX_X - MIN_X) * (MAX_Y - MIN_Y)];
+        private final int[] alpha = new int[(MAX_X - MIN_X) * (MAX_Y - MIN_Y)];
+
+        Recorder(int minX, int minY, int maxX, int maxY) {
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        @Override
+        public int getWidth() {
+            return maxX;
+        }
+
+        @Override
+        public int getHeight() {
+            return maxY;
+        }
+
+        @Override
+        public int getMinX() {
+            return minX;
+        }
+
+        @Override
+        public int getMinY() {
+            return minY;
+        }
+
+        @Override
+        public void setPixel(int x, int y, int argb) {
+            blendPixel(x, y, argb, 255);
+        }
+
+        @Override
+        public void blendPixel(int x, int y, int argb, int coverage) {
+            if (x < MIN_X || x >= MAX_X || y < MIN_Y || y >= MAX_Y)
+                return;
+            int index = (y - MIN_Y) * (MAX_X - MIN_X) + x - MIN_X;
+            writes[index]++;
+            alpha[index] = coverage;
+        }
+    }
+}
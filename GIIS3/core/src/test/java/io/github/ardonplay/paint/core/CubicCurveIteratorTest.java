@@ -0,0 +1,97 @@
+package io.github.ardonplay.paint.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Forward differencing against evaluating the cubic at every sample, within the bound the
+ * iterator documents.
+ */
+class CubicCurveIteratorTest {
+
+    private static final int[] SEGMENTS = {1, 2, 3, 7, 100, 1000, 10_000, 100_000};
+
+    private final CubicCurveIterator iterator = new CubicCurveIterator();
+
+    @Test
+    void bezierStaysWithinBound() {
+        Random random = new Random(9);
+        for (int curve = 0; curve < 200; curve++) {
+            double[] p = randomPoints(random);
+            int segments = SEGMENTS[random.nextInt(SEGMENTS.length)];
+            iterator.bezier(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7], segments);
+            double bound = 1e-14 * segments * extent(p);
+            for (int k = 0; k <= segments; k++) {
+                assertTrue(iterator.next());
+                double t = (double) k / segments;
+                double u = 1 - t;
+                double x = u * u * u * p[0] + 3 * u * u * t * p[2] + 3 * u * t * t * p[4] + t * t * t * p[6];
+                double y = u * u * u * p[1] + 3 * u * u * t * p[3] + 3 * u * t * t * p[5] + t * t * t * p[7];
+                assertEquals(x, iterator.getX(), bound, "x at k = " + k + " of " + segments);
+                assertEquals(y, iterator.getY(), bound, "y at k = " + k + " of " + segments);
+            }
+            assertFalse(iterator.next());
+        }
+    }
+
+    @Test
+    void hermiteStaysWithinBound() {
+        Random random = new Random(10);
+        for (int curve = 0; curve < 200; curve++) {
+            double[] p = randomPoints(random);
+            int segments = SEGMENTS[random.nextInt(SEGMENTS.length)];
+            iterator.hermite(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7], segments);
+            double bound = 1e-14 * segments * extent(p);
+            for (int k = 0; k <= segments; k++) {
+                assertTrue(iterator.next());
+                double t = (double) k / segments;
+                double h00 = 2 * t * t * t - 3 * t * t + 1;
+                double h10 = t * t * t - 2 * t * t + t;
+                double h01 = -2 * t * t * t + 3 * t * t;
+                double h11 = t * t * t - t * t;
+                double x = h00 * p[0] + h01 * p[2] + h10 * p[4] + h11 * p[6];
+                double y = h00 * p[1] + h01 * p[3] + h10 * p[5] + h11 * p[7];
+                assertEquals(x, iterator.getX(), bound, "x at k = " + k + " of " + segments);
+                assertEquals(y, iterator.getY(), bound, "y at k = " + k + " of " + segments);
+            }
+            assertFalse(iterator.next());
+        }
+    }
+
+    @Test
+    void endsOnTheLastControlPoint() {
+        iterator.bezier(0, 0, 10, 40, 90, -40, 100, 0, 100);
+        double x = 0;
+        double y = 0;
+        int samples = 0;
+        while (iterator.next()) {
+            x = iterator.getX();
+            y = iterator.getY();
+            samples++;
+        }
+        assertEquals(101, samples);
+        assertEquals(100, x, 1e-10);
+        assertEquals(0, y, 1e-10);
+    }
+
+    private static double[] randomPoints(Random random) {
+        double[] points = new double[8];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = random.nextDouble() * 20_000 - 10_000;
+        }
+        return points;
+    }
+
+    private static double extent(double[] points) {
+        double extent = 0;
+        for (double point : points) {
+            extent = Math.max(extent, Math.abs(point));
+        }
+        return extent;
+    }
+}
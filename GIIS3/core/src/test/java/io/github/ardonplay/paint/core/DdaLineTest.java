@@ -0,0 +1,207 @@
+package io.github.ardonplay.paint.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The 16.16 fixed-point DDA must plot the pixels of the floating-point DDA it replaced, up to a
+ * rounding difference of one pixel across the line on a small share of them.
+ */
+class DdaLineTest {
+
+    private static final int MIN = -256;
+    private static final int MAX = 256;
+    private static final int LINES = 20_000;
+
+    @Test
+    void matchesTheFloatingPointReference() {
+        Random random = new Random(18);
+        long pixels = 0;
+        long moved = 0;
+        for (int i = 0; i < LINES; i++) {
+            int x1 = random.nextInt(800) - 400;
+            int y1 = random.nextInt(800) - 400;
+            int x2;
+            int y2;
+            switch (i % 4) {
+                // steep, shallow, diagonal and short lines
+                case 0 -> {
+                    x2 = x1 + random.nextInt(41) - 20;
+                    y2 = random.nextInt(800) - 400;
+                }
+                case 1 -> {
+                    x2 = random.nextInt(800) - 400;
+                    y2 = y1 + random.nextInt(41) - 20;
+                }
+                case 2 -> {
+                    int length = random.nextInt(400) - 200;
+                    x2 = x1 + length;
+                    y2 = y1 + (random.nextBoolean() ? length : -length);
+                }
+                default -> {
+                    x2 = x1 + random.nextInt(7) - 3;
+                    y2 = y1 + random.nextInt(7) - 3;
+                }
+            }
+            if (x1 == x2 && y1 == y2)
+                continue;
+            int[] counts = compare(x1, y1, x2, y2);
+            pixels += counts[0];
+            moved += counts[1];
+        }
+        assertTrue(pixels > 1_000_000, "only " + pixels + " pixels drawn");
+        assertTrue(moved * 100 < pixels, moved + " of " + pixels + " pixels moved");
+    }
+
+    @Test
+    void zeroLengthLineDrawsItsPixel() {
+        Random random = new Random(19);
+        for (int i = 0; i < 1000; i++) {
+            int x = random.nextInt(600) - 300;
+            int y = random.nextInt(600) - 300;
+            Recorder recorder = new Recorder();
+            new Rasterizer(recorder).basicLine(x, y, x, y, 0xFF000000);
+            boolean inside = x >= MIN && x < MAX && y >= MIN && y < MAX;
+            assertEquals(inside ? 1 : 0, recorder.pixels.size());
+            if (inside)
+                assertArrayEquals(new int[]{x, y}, recorder.pixels.get(0));
+        }
+    }
+
+    @Test
+    void framebufferKernelMatchesTheGenericPath() {
+        Random random = new Random(20);
+        Framebuffer kernel = new Framebuffer(300, 200);
+        Framebuffer generic = new Framebuffer(300, 200);
+        Rasterizer direct = new Rasterizer(kernel);
+        // a target that is not a Framebuffer takes the per-pixel loop
+        Rasterizer wrapped = new Rasterizer(new RasterTarget() {
+            @Override
+            public int getWidth() {
+                return generic.getWidth();
+            }
+
+            @Override
+            public int getHeight() {
+                return generic.getHeight();
+            }
+
+            @Override
+            public void setPixel(int x, int y, int argb) {
+                generic.setPixel(x, y, argb);
+            }
+        });
+        for (int i = 0; i < 5000; i++) {
+            int x1 = random.nextInt(700) - 200;
+            int y1 = random.nextInt(600) - 200;
+            int x2 = random.nextInt(700) - 200;
+            int y2 = random.nextInt(600) - 200;
+            int argb = 0xFF000000 | random.nextInt(1 << 24);
+            direct.basicLine(x1, y1, x2, y2, argb);
+            wrapped.basicLine(x1, y1, x2, y2, argb);
+        }
+        assertArrayEquals(ParallelRendererTest.pixels(generic), ParallelRendererTest.pixels(kernel));
+    }
+
+    /**
+     * Draws the line and checks it against {@link #reference}: every pixel lies in the window, on the
+     * major axis exactly where the reference has one, and at most one pixel off it on the minor axis;
+     * every reference pixel clear of the window's minor edges is drawn. Returns the pixels drawn and
+     * the ones off the reference.
+     */
+    private static int[] compare(int x1, int y1, int x2, int y2) {
+        Recorder recorder = new Recorder();
+        new Rasterizer(recorder).basicLine(x1, y1, x2, y2, 0xFF000000);
+        boolean xMajor = Math.abs(x2 - x1) >= Math.abs(y2 - y1);
+        String line = "line " + x1 + "," + y1 + " -> " + x2 + "," + y2;
+
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int[] pixel : reference(x1, y1, x2, y2)) {
+            expected.put(xMajor ? pixel[0] : pixel[1], xMajor ? pixel[1] : pixel[0]);
+        }
+        Map<Integer, Integer> actual = new HashMap<>();
+        int moved = 0;
+        for (int[] pixel : recorder.pixels) {
+            assertTrue(pixel[0] >= MIN && pixel[0] < MAX && pixel[1] >= MIN && pixel[1] < MAX, line);
+            int major = xMajor ? pixel[0] : pixel[1];
+            int minor = xMajor ? pixel[1] : pixel[0];
+            Integer reference = expected.get(major);
+            assertNotNull(reference, line);
+            assertTrue(Math.abs(minor - reference) <= 1, line);
+            if (minor != reference)
+                moved++;
+            actual.put(major, minor);
+        }
+        for (Map.Entry<Integer, Integer> pixel : expected.entrySet()) {
+            int major = pixel.getKey();
+            int minor = pixel.getValue();
+            if (major >= MIN && major < MAX && minor > MIN && minor < MAX - 1)
+                assertTrue(actual.containsKey(major), line + " misses " + major);
+        }
+        return new int[]{recorder.pixels.size(), moved};
+    }
+
+    /**
+     * The floating-point DDA the fixed-point one replaced, unclipped, with coordinates floored rather
+     * than truncated toward zero so negative coordinates round the same way.
+     */
+    private static List<int[]> reference(int x1, int y1, int x2, int y2) {
+        double length = Math.max(Math.abs(x2 - x1), Math.abs(y2 - y1));
+        double deltaX = (x2 - x1) / length;
+        double deltaY = (y2 - y1) / length;
+        double x = x1 + 0.5 * Math.signum(deltaX);
+        double y = y1 + 0.5 * Math.signum(deltaY);
+        List<int[]> pixels = new ArrayList<>();
+        pixels.add(new int[]{(int) Math.floor(x), (int) Math.floor(y)});
+        for (int i = 0; i <= length; i++) {
+            x += deltaX;
+            y += deltaY;
+            pixels.add(new int[]{(int) Math.floor(x), (int) Math.floor(y)});
+        }
+        return pixels;
+    }
+
+    /**
+     * Records every pixel of a window around the origin, so negative coordinates are drawn too.
+     */
+    private static class Recorder implements RasterTarget {
+
+        private final List<int[]> pixels = new ArrayList<>();
+
+        @Override
+        public int getWidth() {
+            return MAX;
+        }
+
+        @Override
+        public int getHeight() {
+            return MAX;
+        }
+
+        @Override
+        public int getMinX() {
+            return MIN;
+        }
+
+        @Override
+        public int getMinY() {
+            return MIN;
+        }
+
+        @Override
+        public void setPixel(int x, int y, int argb) {
+            if (x >= MIN && x < MAX && y >= MIN && y < MAX)
+                pixels.add(new int[]{x, y});
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package io.github.ardonplay.paint.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Conics far larger than the window must still be drawn on the true curve, without gaps, and at a
+ * cost bounded by the window rather than by their size.
+ */
+class MidpointConicsTest {
+
+    private static final int WIDTH = 640;
+    private static final int HEIGHT = 480;
+
+    private static final int[] SIZES = {20_000, 50_000, 100_000, 10_000_000, 1 << 28};
+
+    @Test
+    void largeEllipsesFollowTheCurve() {
+        for (int a : SIZES) {
+            for (int b : new int[]{a, a / 3, 4_000}) {
+                for (int step = 0; step < 9; step++) {
+                    // the point at this angle lands in the middle of the window
+                    double angle = 0.1 + 0.7 * step;
+                    int centerX = (int) Math.round(WIDTH / 2.0 - a * Math.cos(angle));
+                    int centerY = (int) Math.round(HEIGHT / 2.0 - b * Math.sin(angle));
+                    double sign = Math.signum(Math.sin(angle));
+                    check("ellipse " + a + " x " + b + " at " + angle,
+                            rasterizer -> rasterizer.drawEllipse(centerX, centerY, a, b, 0xFF000000),
+                            x -> centerY + sign * b * Math.sqrt(Math.max(0, 1 - square((x - centerX) / a))),
+                            y -> centerX + Math.signum(Math.cos(angle)) * a * Math.sqrt(Math.max(0, 1 - square((y - centerY) / b))),
+                            (x, y) -> {
+                                double u = (x - centerX) / a;
+                                double v = (y - centerY) / b;
+                                return Math.abs(u * u + v * v - 1) / Math.hypot(2 * u / a, 2 * v / b);
+                            });
+                }
+            }
+        }
+    }
+
+    @Test
+    void largeParabolasFollowTheCurve() {
+        for (int halfWidth : SIZES) {
+            for (int height : new int[]{halfWidth, -halfWidth / 3, 30_000}) {
+                // the arc passes through the middle of the window at 0.6 of its half width
+                double offset = 0.6 * halfWidth;
+                int vertexX = (int) Math.round(WIDTH / 2.0 - offset);
+                int vertexY = (int) Math.round(HEIGHT / 2.0 - height * 0.36);
+                double scale = (double) height / ((double) halfWidth * halfWidth);
+                check("parabola " + halfWidth + " x " + height,
+                        rasterizer -> rasterizer.drawParabola(vertexX, vertexY, halfWidth, height, 0xFF000000),
+                        x -> vertexY + scale * square(x - vertexX),
+                        y -> vertexX + Math.sqrt(Math.max(0, (y - vertexY) / scale)),
+                        (x, y) -> Math.abs(y - vertexY - scale * square(x - vertexX)) / Math.hypot(2 * scale * (x - vertexX), 1));
+            }
+        }
+    }
+
+    @Test
+    void hyperbolasStartAtTheWindow() {
+        for (int a : new int[]{1_000, 100_000, 1 << 28}) {
+            for (int b : new int[]{1, 100, 100_000}) {
+                for (int distance : new int[]{0, 5_000, 1_000_000, 1 << 28}) {
+                    // the center lies distance to the left; the right branch crosses the window middle
+                    int centerX = WIDTH / 2 - distance;
+                    int centerY = (int) Math.round(HEIGHT / 2.0 - (double) b / a * Math.hypot(distance, a));
+                    check("hyperbola " + a + " x " + b + " from " + distance,
+                            rasterizer -> rasterizer.drawHyperbola(centerX, centerY, a, b, 0xFF000000),
+                            x -> centerY + (double) b / a * Math.hypot(x - centerX, a),
+                            y -> y - centerY < b ? Double.NaN : centerX + (double) a / b * Math.sqrt(square(y - centerY) - (double) b * b),
+                            (x, y) -> {
+                                double u = (x - centerX) / a;
+                                double v = (y - centerY) / b;
+                                return Math.abs(v * v - u * u - 1) / Math.hypot(2 * u / a, 2 * v / b);
+                            });
+                }
+            }
+        }
+    }
+
+    @Test
+    void hyperbolaTilesMatchTheWholeWindow() {
+        int[][] hyperbolas = {{-3000, 900, 40, 70}, {320, -200, 15, 30}, {2_000_000, 240, 3000, 10}, {100, 100, 1, 50}};
+        for (int[] h : hyperbolas) {
+            Framebuffer whole = new Framebuffer(WIDTH, HEIGHT);
+            new Rasterizer(whole).drawHyperbola(h[0], h[1], h[2], h[3], 0xFF000000);
+            Framebuffer tiled = new Framebuffer(WIDTH, HEIGHT);
+            for (int y = 0; y < HEIGHT; y += 100) {
+                for (int x = 0; x < WIDTH; x += 100) {
+                    TileTarget tile = new TileTarget(tiled, x, y, Math.min(x + 100, WIDTH), Math.min(y + 100, HEIGHT));
+                    new Rasterizer(tile).drawHyperbola(h[0], h[1], h[2], h[3], 0xFF000000);
+                }
+            }
+            assertArrayEquals(ParallelRendererTest.pixels(whole), ParallelRendererTest.pixels(tiled));
+        }
+    }
+
+    private interface Distance {
+        double to(double x, double y);
+    }
+
+    /**
+     * Draws into a window recording every call, and checks that the calls are bounded by the window,
+     * every pixel lies within a pixel of the curve, and every column and row the curve crosses well
+     * inside the window holds a pixel within a pixel of it.
+     *
+     * @param yAt the curve's y in a column, on the branch crossing the window's middle
+     * @param xAt the curve's x in a row, on the same branch
+     */
+    @Test
+    void hyperbolaWalkDrawsTheRowsOfEachColumn() {
+        Random random = new Random(41);
+        int width = 160;
+        int height = 120;
+        for (int i = 0; i < 300; i++) {
+            int a = 1 + random.nextInt(i % 2 == 0 ? 30 : 3000);
+            int b = 1 + random.nextInt(i % 3 == 0 ? 30 : 3000);
+            int centerX = random.nextInt(20_000) - 10_000;
+            int centerY = random.nextInt(20_000) - 10_000;
+            Framebuffer drawn = new Framebuffer(width, height);
+            new Rasterizer(drawn).drawHyperbola(centerX, centerY, a, b, 0xFF000000);
+
+            // column u holds its nearest row and the rows between its half columns, from exact comparisons
+            int[] expected = new int[width * height];
+            for (int x = 0; x < width; x++) {
+                long u = Math.abs(x - centerX);
+                for (int y = 0; y < height; y++) {
+                    long v = Math.abs(y - centerY);
+                    long nearest = square(a * (2 * v - 1)) - 4 * square(b) * (u * u + (long) a * a);
+                    long above = square(a * (2 * v + 1)) - 4 * square(b) * (u * u + (long) a * a);
+                    boolean row = nearest <= 0 && above > 0;
+                    boolean fromLeft = 4 * square(a * v) >= square(b) * (square(2 * u - 1) + 4L * a * a);
+                    boolean toRight = 4 * square(a * v) < square(b) * (square(2 * u + 1) + 4L * a * a);
+                    if (row || fromLeft && toRight)
+                        expected[y * width + x] = 0xFF000000;
+                }
+            }
+            assertArrayEquals(expected, ParallelRendererTest.pixels(drawn), a + " x " + b + " at " + centerX + "," + centerY);
+        }
+    }
+
+    private static void check(String name, Consumer<Rasterizer> draw, DoubleUnaryOperator yAt,
+                              DoubleUnaryOperator xAt, Distance distance) {
+        List<int[]> pixels = new ArrayList<>();
+        int[] calls = new int[1];
+        draw.accept(new Rasterizer(new RasterTarget() {
+            @Override
+            public int getWidth() {
+                return WIDTH;
+            }
+
+            @Override
+            public int getHeight() {
+                return HEIGHT;
+            }
+
+            @Override
+            public void setPixel(int x, int y, int argb) {
+                calls[0]++;
+                if (x >= 0 && x < WIDTH && y >= 0 && y < HEIGHT)
+                    pixels.add(new int[]{x, y});
+            }
+        }));
+
+        assertTrue(calls[0] <= 8 * (WIDTH + HEIGHT), name + " made " + calls[0] + " calls");
+        boolean[][] drawn = new boolean[WIDTH][HEIGHT];
+        for (int[] pixel : pixels) {
+            double off = distance.to(pixel[0], pixel[1]);
+            assertTrue(off <= 1, name + " draws " + pixel[0] + "," + pixel[1] + " " + off + " off the curve");
+            drawn[pixel[0]][pixel[1]] = true;
+        }
+        for (int x = 1; x < WIDTH - 1; x++) {
+            double y = yAt.applyAsDouble(x);
+            if (y >= 2 && y < HEIGHT - 2)
+                assertTrue(drawn[x][(int) Math.floor(y)] || drawn[x][(int) Math.ceil(y)], name + " misses column " + x);
+        }
+        for (int y = 1; y < HEIGHT - 1; y++) {
+            double x = xAt.applyAsDouble(y);
+            if (x >= 2 && x < WIDTH - 2)
+                assertTrue(drawn[(int) Math.floor(x)][y] || drawn[(int) Math.ceil(x)][y], name + " misses row " + y);
+        }
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+
+    private static long square(long value) {
+        return value * value;
+    }
+}
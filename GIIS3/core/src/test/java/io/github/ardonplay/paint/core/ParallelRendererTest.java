@@ -0,0 +1,110 @@
+package io.github.ardonplay.paint.core;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * The tiled renderers must produce exactly the pixels of drawing the primitives one by one.
+ */
+class ParallelRendererTest {
+
+    private static final int WIDTH = 700;
+    private static final int HEIGHT = 560;
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void renderMatchesSequentialRasterizer() {
+        List<Primitive> primitives = randomPrimitives(new Random(5), 600);
+
+        Framebuffer sequential = new Framebuffer(WIDTH, HEIGHT);
+        Rasterizer rasterizer = new Rasterizer(sequential);
+        for (Primitive primitive : primitives) {
+            primitive.draw(rasterizer);
+        }
+        Framebuffer parallel = new Framebuffer(WIDTH, HEIGHT);
+        new ParallelRenderer(pool).render(primitives, parallel);
+
+        assertArrayEquals(pixels(sequential), pixels(parallel));
+    }
+
+    @Test
+    void parallelValidateMatchesSequentialValidate() {
+        List<Primitive> primitives = randomPrimitives(new Random(6), 600);
+        SceneModel sequential = new SceneModel(new Framebuffer(WIDTH, HEIGHT));
+        SceneModel parallel = new SceneModel(new Framebuffer(WIDTH, HEIGHT));
+        parallel.setParallelRenderer(new ParallelRenderer(pool));
+        for (Primitive primitive : primitives) {
+            sequential.add(primitive);
+            parallel.add(primitive);
+        }
+
+        for (double scale : new double[]{1, 0.3, 2.5}) {
+            for (SceneModel scene : List.of(sequential, parallel)) {
+                scene.getViewport().set(-40.5, 25.25, scale);
+                scene.invalidateAll();
+                scene.validate();
+            }
+            assertArrayEquals(pixels(sequential.getFramebuffer()), pixels(parallel.getFramebuffer()), "scale " + scale);
+        }
+    }
+
+    @Test
+    void paintTilesCoversTheRectangleOnce() {
+        int[] painted = new int[WIDTH * HEIGHT];
+        new ParallelRenderer(pool).paintTiles(13, 7, 650, 530, (minX, minY, maxX, maxY) -> {
+            for (int y = minY; y < maxY; y++) {
+                for (int x = minX; x < maxX; x++) {
+                    painted[y * WIDTH + x]++;
+                }
+            }
+        });
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int expected = x >= 13 && x < 650 && y >= 7 && y < 530 ? 1 : 0;
+                if (painted[y * WIDTH + x] != expected)
+                    throw new AssertionError("pixel " + x + "," + y + " painted " + painted[y * WIDTH + x] + " times");
+            }
+        }
+    }
+
+    static List<Primitive> randomPrimitives(Random random, int count) {
+        List<String> modes = RasterAlgorithms.modes();
+        List<Primitive> primitives = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String mode = modes.get(random.nextInt(modes.size()));
+            int x1 = random.nextInt(WIDTH + 200) - 100;
+            int y1 = random.nextInt(HEIGHT + 200) - 100;
+            int x2 = x1 + random.nextInt(401) - 200;
+            int y2 = y1 + random.nextInt(401) - 200;
+            int alpha = random.nextBoolean() ? 255 : 64 + random.nextInt(192);
+            int argb = alpha << 24 | random.nextInt(alpha + 1) << 16 | random.nextInt(alpha + 1) << 8 | random.nextInt(alpha + 1);
+            primitives.add(Primitive.of(mode, x1, y1, x2, y2, argb));
+        }
+        return primitives;
+    }
+
+    static int[] pixels(Framebuffer framebuffer) {
+        int[] pixels = new int[framebuffer.getWidth() * framebuffer.getHeight()];
+        framebuffer.getPixels().get(0, pixels);
+        return pixels;
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.ardonplay.paint.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The scanline fill must write exactly the pixel centres its fill rule puts inside, once each, and
+ * polygons sharing an edge must not overlap.
+ */
+class PolygonFillerTest {
+
+    private static final int SIZE = 160;
+
+    @Test
+    void matchesPointInPolygonForBothRules() {
+        Random random = new Random(22);
+        for (int i = 0; i < 500; i++) {
+            int count = 3 + random.nextInt(10);
+            int[] points = new int[count * 2];
+            for (int j = 0; j < points.length; j++) {
+                // vertices reach outside the window so the fill is clipped too
+                points[j] = random.nextInt(SIZE + 40) - 20;
+            }
+            for (FillRule rule : FillRule.values()) {
+                Recorder recorder = new Recorder();
+                new Rasterizer(recorder).fillPolygon(points, count, rule, 0xFF000000);
+                for (int y = 0; y < SIZE; y++) {
+                    for (int x = 0; x < SIZE; x++) {
+                        int winding = winding(points, count, x, y);
+                        boolean inside = rule == FillRule.EVEN_ODD ? (crossings(points, count, x, y) & 1) != 0 : winding != 0;
+                        assertEquals(inside ? 1 : 0, recorder.writes[y * SIZE + x],
+                                rule + " polygon " + i + " at " + x + "," + y);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void polygonsSharingEdgesTileWithoutOverlap() {
+        Random random = new Random(23);
+        for (int i = 0; i < 200; i++) {
+            // a fan of triangles around an inner point of a convex polygon
+            int centerX = 60 + random.nextInt(40);
+            int centerY = 60 + random.nextInt(40);
+            int corners = 3 + random.nextInt(12);
+            int[] outline = new int[corners * 2];
+            double start = random.nextDouble() * Math.PI;
+            for (int j = 0; j < corners; j++) {
+                double angle = start + 2 * Math.PI * j / corners;
+                double radius = 30 + random.nextInt(40);
+                outline[2 * j] = centerX + (int) Math.round(radius * Math.cos(angle));
+                outline[2 * j + 1] = centerY + (int) Math.round(radius * Math.sin(angle));
+            }
+            Recorder fan = new Recorder();
+            Rasterizer rasterizer = new Rasterizer(fan);
+            for (int j = 0; j < corners; j++) {
+                int next = (j + 1) % corners;
+                int[] triangle = {centerX, centerY, outline[2 * j], outline[2 * j + 1], outline[2 * next], outline[2 * next + 1]};
+                rasterizer.fillPolygon(triangle, 3, FillRule.NON_ZERO, 0xFF000000);
+            }
+            Recorder whole = new Recorder();
+            new Rasterizer(whole).fillPolygon(outline, corners, FillRule.NON_ZERO, 0xFF000000);
+            for (int pixel = 0; pixel < SIZE * SIZE; pixel++) {
+                assertTrue(fan.writes[pixel] <= 1, "fan " + i + " writes " + pixel % SIZE + "," + pixel / SIZE + " twice");
+            }
+            assertArrayEquals(whole.writes, fan.writes, "fan " + i + " differs from its outline");
+        }
+    }
+
+    @Test
+    void pentagramRulesDifferInTheMiddle() {
+        Framebuffer evenOdd = new Framebuffer(SIZE, SIZE);
+        Rasterizer rasterizer = new Rasterizer(evenOdd);
+        rasterizer.setMode("StarEvenOdd");
+        rasterizer.printLine(80, 80, 80, 10, 0xFF000000);
+        Framebuffer nonZero = new Framebuffer(SIZE, SIZE);
+        rasterizer = new Rasterizer(nonZero);
+        rasterizer.setMode("StarNonZero");
+        rasterizer.printLine(80, 80, 80, 10, 0xFF000000);
+
+        assertEquals(0, evenOdd.getPixels().get(80 * SIZE + 80));
+        assertEquals(0xFF000000, nonZero.getPixels().get(80 * SIZE + 80));
+        // the tips are inside under both rules
+        assertEquals(0xFF000000, evenOdd.getPixels().get(20 * SIZE + 80));
+        assertEquals(0xFF000000, nonZero.getPixels().get(20 * SIZE + 80));
+    }
+
+    @Test
+    void framebufferSpansMatchThePerPixelPath() {
+        Random random = new Random(24);
+        Framebuffer framebuffer = new Framebuffer(SIZE, SIZE);
+        Recorder recorder = new Recorder();
+        Rasterizer spans = new Rasterizer(framebuffer);
+        Rasterizer pixels = new Rasterizer(recorder);
+        for (int i = 0; i < 200; i++) {
+            int count = 3 + random.nextInt(8);
+            int[] points = new int[count * 2];
+            for (int j = 0; j < points.length; j++) {
+                points[j] = random.nextInt(SIZE + 40) - 20;
+            }
+            int argb = 0xFF000000 | random.nextInt(1 << 24);
+            FillRule rule = random.nextBoolean() ? FillRule.EVEN_ODD : FillRule.NON_ZERO;
+            spans.fillPolygon(points, count, rule, argb);
+            pixels.fillPolygon(points, count, rule, argb);
+        }
+        assertArrayEquals(recorder.colors, ParallelRendererTest.pixels(framebuffer));
+    }
+
+    /**
+     * Signed crossings of the edges with row {@code y} at or left of the pixel centre {@code x}: edges
+     * cover the rows {@code [top, bottom)}, downward ones count {@code +1}.
+     */
+    private static int winding(int[] points, int count, int x, int y) {
+        int winding = 0;
+        for (int i = 0; i < count; i++) {
+            winding += crossing(points, count, i, x, y);
+        }
+        return winding;
+    }
+
+    private static int crossings(int[] points, int count, int x, int y) {
+        int crossings = 0;
+        for (int i = 0; i < count; i++) {
+            crossings += Math.abs(crossing(points, count, i, x, y));
+        }
+        return crossings;
+    }
+
+    /**
+     * The direction of edge {@code i} if it crosses row {@code y} at or left of {@code x}, else 0.
+     */
+    private static int crossing(int[] points, int count, int i, int x, int y) {
+        int j = (i + 1) % count;
+        long x0 = points[2 * i];
+        long y0 = points[2 * i + 1];
+        long x1 = points[2 * j];
+        long y1 = points[2 * j + 1];
+        if (y0 == y1 || y < Math.min(y0, y1) || y >= Math.max(y0, y1))
+            return 0;
+        // the crossing x0 + (y - y0) (x1 - x0) / (y1 - y0) lies at or left of x, compared exactly
+        long dy = y1 - y0;
+        long left = x0 * dy + (y - y0) * (x1 - x0);
+        boolean atOrLeft = dy > 0 ? left <= x * dy : left >= x * dy;
+        return atOrLeft ? (dy > 0 ? 1 : -1) : 0;
+    }
+
+    /**
+     * Counts the writes of every pixel of the window and keeps the last color.
+     */
+    private static class Recorder implements RasterTarget {
+
+        private final int[] writes = new int[SIZE * SIZE];
+        private final int[] colors = new int[SIZE * SIZE];
+
+        @Override
+        public int getWidth() {
+            return SIZE;
+        }
+
+        @Override
+        public int getHeight() {
+            return SIZE;
+        }
+
+        @Override
+        public void setPixel(int x, int y, int argb) {
+            if (x < 0 || x >= SIZE || y < 0 || y >= SIZE)
+                return;
+            writes[y * SIZE + x]++;
+            colors[y * SIZE + x] = argb;
+        }
+    }
+}
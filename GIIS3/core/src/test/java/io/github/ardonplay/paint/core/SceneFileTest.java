@@ -0,0 +1,199 @@
+package io.github.ardonplay.paint.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A mapped scene must read back what was written, render like the primitives it was written from,
+ * and refuse records that point outside the file when they are read.
+ */
+class SceneFileTest {
+
+    private static final int WIDTH = 700;
+    private static final int HEIGHT = 560;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackWhatWasWritten() throws IOException {
+        List<Primitive> primitives = new ArrayList<>(ParallelRendererTest.randomPrimitives(new Random(1), 200));
+        primitives.add(new Primitive("StarEvenOdd", new int[]{1, 2, 3, 4, 5, 6, 7, 8}, 0xFF102030));
+        Path path = directory.resolve("scene.gisc");
+        SceneFile.write(path, primitives);
+
+        MappedScene scene = SceneFile.map(path);
+        assertEquals(primitives.size(), scene.size());
+        for (int i = 0; i < primitives.size(); i++) {
+            Primitive expected = primitives.get(i);
+            Primitive actual = scene.get(i);
+            assertEquals(expected.mode(), actual.mode());
+            assertEquals(expected.argb(), actual.argb());
+            assertArrayEquals(expected.points(), actual.points());
+        }
+    }
+
+    @Test
+    void loadedSceneRendersLikeItsPrimitives() throws IOException {
+        List<Primitive> primitives = ParallelRendererTest.randomPrimitives(new Random(2), 600);
+        Path path = directory.resolve("scene.gisc");
+        SceneFile.write(path, primitives);
+
+        SceneModel added = new SceneModel(new Framebuffer(WIDTH, HEIGHT));
+        for (Primitive primitive : primitives) {
+            added.add(primitive);
+        }
+        SceneModel loaded = new SceneModel(new Framebuffer(WIDTH, HEIGHT));
+        loaded.load(SceneFile.map(path));
+        Primitive extra = Primitive.of("Bresenham", 10, 10, 600, 500, 0xFF00FF00);
+        for (SceneModel scene : List.of(added, loaded)) {
+            scene.add(extra);
+            // the second undo reaches into the mapped records
+            scene.undo();
+            scene.undo();
+            scene.getViewport().set(-40.5, 25.25, 0.7);
+            scene.invalidateAll();
+            scene.validate();
+        }
+
+        assertEquals(added.size(), loaded.size());
+        assertArrayEquals(ParallelRendererTest.pixels(added.getFramebuffer()),
+                ParallelRendererTest.pixels(loaded.getFramebuffer()));
+        Primitive last = loaded.getPrimitives().get(loaded.size() - 1);
+        assertArrayEquals(primitives.get(primitives.size() - 2).points(), last.points());
+    }
+
+    @Test
+    void savingOverTheLoadedFileKeepsItReadable() throws IOException {
+        Path path = directory.resolve("scene.gisc");
+        SceneFile.write(path, ParallelRendererTest.randomPrimitives(new Random(3), 100));
+        SceneModel scene = new SceneModel(new Framebuffer(WIDTH, HEIGHT));
+        scene.load(SceneFile.map(path));
+        scene.add(Primitive.of("Circle", 300, 300, 350, 300, 0xFF000000));
+
+        SceneFile.write(path, scene.getPrimitives());
+        scene.invalidateAll();
+        scene.validate();
+        assertEquals(101, SceneFile.map(path).size());
+    }
+
+    @Test
+    void loadedSceneIsIndexedOnItsFirstQuery() throws IOException {
+        List<Primitive> primitives = ParallelRendererTest.randomPrimitives(new Random(4), 600);
+        Path path = directory.resolve("scene.gisc");
+        SceneFile.write(path, primitives);
+
+        SceneModel added = new SceneModel(new Framebuffer(WIDTH, HEIGHT));
+        primitives.forEach(added::add);
+        SceneModel loaded = new SceneModel(new Framebuffer(WIDTH, HEIGHT));
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            loaded.setParallelRenderer(new ParallelRenderer(pool));
+            loaded.load(SceneFile.map(path));
+            // the whole frame is drawn by walking the records, and the index is built for the query
+            loaded.validate();
+            added.invalidateAll();
+            added.validate();
+            assertArrayEquals(ParallelRendererTest.pixels(added.getFramebuffer()),
+                    ParallelRendererTest.pixels(loaded.getFramebuffer()));
+            assertEquals(added.primitivesIn(100, 100, 300, 200).size(), loaded.primitivesIn(100, 100, 300, 200).size());
+
+            // then tiles query it
+            for (SceneModel scene : List.of(added, loaded)) {
+                scene.undo();
+                scene.getViewport().set(30, -20, 1.6);
+                scene.invalidateAll();
+                scene.validate();
+            }
+            assertArrayEquals(ParallelRendererTest.pixels(added.getFramebuffer()),
+                    ParallelRendererTest.pixels(loaded.getFramebuffer()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsAModeIndexOutsideTheModeTableWhenRead() throws IOException {
+        Path path = writeCorrupted((buffer, records) -> buffer.putShort(records + SceneFile.RECORD_SIZE, (short) 7));
+        MappedScene mapped = SceneFile.map(path);
+        assertEquals("DDA", mapped.getMode(0));
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> mapped.getMode(1));
+        assertTrue(e.getMessage().contains("mode index 7"), e.getMessage());
+
+        // loading does not read the records, drawing them does
+        SceneModel scene = new SceneModel(new Framebuffer(WIDTH, HEIGHT));
+        scene.load(mapped);
+        assertThrows(UncheckedIOException.class, scene::validate);
+    }
+
+    @Test
+    void rejectsExtraCoordinatesOutsideTheFileWhenRead() throws IOException {
+        Path path = writeCorrupted((buffer, records) -> buffer.putInt(records + 2 * SceneFile.RECORD_SIZE + 24, 1 << 20));
+        MappedScene mapped = SceneFile.map(path);
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> mapped.get(2));
+        assertTrue(e.getMessage().contains("extra coordinates"), e.getMessage());
+
+        Path negative = writeCorrupted((buffer, records) -> buffer.putInt(records + 2 * SceneFile.RECORD_SIZE + 24, -2));
+        assertThrows(UncheckedIOException.class, () -> SceneFile.map(negative).get(2));
+    }
+
+    @Test
+    void rejectsAModeTableOverrunningTheRecords() throws IOException {
+        Path path = writeCorrupted((buffer, records) -> buffer.putInt(12, 1 << 30));
+        assertThrows(IOException.class, () -> SceneFile.map(path));
+        Path length = writeCorrupted((buffer, records) -> buffer.putShort(SceneFile.HEADER_SIZE, (short) 0x7FFF));
+        assertThrows(IOException.class, () -> SceneFile.map(length));
+    }
+
+    @Test
+    void readsVersionOneFilesWithoutCurves() throws IOException {
+        Path lines = writeCorrupted((buffer, records) -> buffer.putShort(4, (short) 1));
+        assertEquals(3, SceneFile.map(lines).size());
+
+        Path curves = writeCorrupted(List.of(Primitive.of("DDA", 0, 0, 10, 10, 0xFF000000),
+                Primitive.of("Bezier", 50, 50, 250, 50, 0xFF000000)), (buffer, records) -> buffer.putShort(4, (short) 1));
+        IOException e = assertThrows(IOException.class, () -> SceneFile.map(curves));
+        assertTrue(e.getMessage().contains("Bezier"), e.getMessage());
+    }
+
+    private interface Corruption {
+        void apply(ByteBuffer buffer, int recordsOffset);
+    }
+
+    /**
+     * Writes a valid three record scene, the last one with extra points, and damages it.
+     */
+    private Path writeCorrupted(Corruption corruption) throws IOException {
+        return writeCorrupted(List.of(
+                Primitive.of("DDA", 0, 0, 10, 10, 0xFF000000),
+                Primitive.of("Circle", 50, 50, 60, 50, 0xFF000000),
+                new Primitive("StarNonZero", new int[]{0, 0, 40, 0, 40, 40, 0, 40}, 0xFF000000)), corruption);
+    }
+
+    private Path writeCorrupted(List<Primitive> primitives, Corruption corruption) throws IOException {
+        Path path = directory.resolve("corrupt" + System.nanoTime() + ".gisc");
+        SceneFile.write(path, primitives);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            corruption.apply(buffer, buffer.getInt(16));
+        }
+        return path;
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.ardonplay.paint.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Whatever is submitted, and however the renders fall between presents, the presented pixels must
+ * be those of the scene after the last render, and a failing change must be reported without
+ * losing the rest of its batch.
+ */
+class SceneRendererTest {
+
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 200;
+
+    @Test
+    void presentsTheBatchAndReportsTheChangeThatFailed() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        List<RuntimeException> errors = new ArrayList<>();
+        AtomicInteger frames = new AtomicInteger();
+        SceneModel scene = new SceneModel(new Framebuffer(WIDTH, HEIGHT));
+        SceneRenderer renderer = new SceneRenderer(scene, tasks::add, frames::incrementAndGet, errors::add);
+        int[] canvas = new int[WIDTH * HEIGHT];
+
+        RuntimeException failure = new IllegalStateException("broken change");
+        renderer.submit(s -> s.add(Primitive.of("Bresenham", 10, 10, 250, 150, 0xFF000000)));
+        renderer.submit(s -> {
+            throw failure;
+        });
+        renderer.submit(s -> s.add(Primitive.of("Vu", 20, 180, 280, 30, 0xFF204080)));
+        // the whole batch is one render task
+        assertEquals(1, tasks.size());
+        tasks.poll().run();
+
+        assertEquals(List.of(failure), errors);
+        assertEquals(2, scene.size());
+        assertEquals(1, frames.get());
+        renderer.present((x, y, width, height, pixels, offset, stride) -> {
+            for (int row = 0; row < height; row++) {
+                System.arraycopy(pixels, offset + row * stride, canvas, (y + row) * WIDTH + x, width);
+            }
+        });
+        assertArrayEquals(ParallelRendererTest.pixels(scene.getFramebuffer()), canvas);
+
+        // nothing changed since, so nothing is presented again
+        renderer.present((x, y, width, height, pixels, offset, stride) -> {
+            throw new AssertionError("presented " + x + "," + y + " " + width + "x" + height + " twice");
+        });
+    }
+
+    @Test
+    void reportsAFailedValidationAndRecovers() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        List<RuntimeException> errors = new ArrayList<>();
+        RuntimeException failure = new IllegalStateException("broken raster");
+        boolean[] broken = new boolean[1];
+        SceneModel scene = new SceneModel(new Framebuffer(WIDTH, HEIGHT) {
+            @Override
+            public void blendPixel(int x, int y, int argb, int alpha) {
+                if (broken[0])
+                    throw failure;
+                super.blendPixel(x, y, argb, alpha);
+            }
+        });
+        SceneRenderer renderer = new SceneRenderer(scene, tasks::add, () -> {
+        }, errors::add);
+        renderer.submit(s -> s.add(Primitive.of("Vu", 20, 30, 200, 90, 0xFF000000)));
+        tasks.poll().run();
+        assertTrue(errors.isEmpty());
+
+        broken[0] = true;
+        renderer.submit(SceneModel::invalidateAll);
+        tasks.poll().run();
+        assertEquals(List.of(failure), errors);
+
+        // the scene is still invalid, so the next render redraws it
+        broken[0] = false;
+        renderer.submit(s -> s.add(Primitive.of("Bresenham", 0, 0, 10, 10, 0xFF000000)));
+        tasks.poll().run();
+        assertEquals(1, errors.size());
+        assertTrue(scene.isValid());
+        int[] canvas = new int[WIDTH * HEIGHT];
+        renderer.present((x, y, width, height, pixels, offset, stride) -> {
+            for (int row = 0; row < height; row++) {
+                System.arraycopy(pixels, offset + row * stride, canvas, (y + row) * WIDTH + x, width);
+            }
+        });
+        assertArrayEquals(ParallelRendererTest.pixels(scene.getFramebuffer()), canvas);
+    }
+
+    @Test
+    void presentsTheLastRenderWhileTheRenderThreadKeepsDrawing() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            SceneModel scene = new SceneModel(new Framebuffer(WIDTH, HEIGHT));
+            List<RuntimeException> errors = new ArrayList<>();
+            SceneRenderer renderer = new SceneRenderer(scene, executor, () -> {
+            }, errors::add);
+            int[] canvas = new int[WIDTH * HEIGHT];
+            SceneRenderer.FrameSink sink = (x, y, width, height, pixels, offset, stride) -> {
+                for (int row = 0; row < height; row++) {
+                    System.arraycopy(pixels, offset + row * stride, canvas, (y + row) * WIDTH + x, width);
+                }
+            };
+
+            Random random = new Random(61);
+            List<String> modes = RasterAlgorithms.modes(RasterAlgorithm.Kind.LINE);
+            for (int i = 0; i < 400; i++) {
+                Primitive primitive = Primitive.of(modes.get(random.nextInt(modes.size())),
+                        random.nextInt(WIDTH), random.nextInt(HEIGHT), random.nextInt(WIDTH), random.nextInt(HEIGHT),
+                        0xFF000000 | random.nextInt(1 << 24));
+                renderer.submit(s -> s.add(primitive));
+                if (i % 7 == 0)
+                    renderer.present(sink);
+            }
+            // the tasks run in order, so once this one has run every change before it has been rendered
+            CountDownLatch done = new CountDownLatch(1);
+            executor.execute(done::countDown);
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+            renderer.present(sink);
+
+            assertTrue(errors.isEmpty());
+            assertArrayEquals(ParallelRendererTest.pixels(scene.getFramebuffer()), canvas);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
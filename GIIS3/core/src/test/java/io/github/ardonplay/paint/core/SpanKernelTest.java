@@ -0,0 +1,108 @@
+package io.github.ardonplay.paint.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The vector kernels are only a shortcut: on every span, tail and coverage they must write exactly
+ * the pixels of the scalar loops, and so of {@link AlphaBlend}.
+ */
+class SpanKernelTest {
+
+    private static final int SIZE = 300;
+
+    @Test
+    void vectorKernelMatchesTheScalarLoops() throws ReflectiveOperationException {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(), "no Vector API module");
+        // loaded by name, as SpanKernel does, so that this class links without the incubator module
+        SpanKernel vector = (SpanKernel) Class.forName("io.github.ardonplay.paint.core.VectorSpanKernel")
+                .getDeclaredConstructor().newInstance();
+        SpanKernel scalar = new ScalarSpanKernel();
+        Random random = new Random(51);
+        for (int i = 0; i < 2000; i++) {
+            int[] pixels = new int[SIZE];
+            for (int p = 0; p < SIZE; p++) {
+                pixels[p] = premultiplied(random);
+            }
+            int[] coverage = new int[SIZE];
+            for (int p = 0; p < SIZE; p++) {
+                // the ends of the range as often as the inside
+                coverage[p] = switch (random.nextInt(4)) {
+                    case 0 -> 0;
+                    case 1 -> 255;
+                    default -> random.nextInt(256);
+                };
+            }
+            // lengths around every multiple of the vector width, from any offset
+            int count = random.nextInt(i % 2 == 0 ? 40 : SIZE / 2);
+            int offset = random.nextInt(SIZE - count + 1);
+            int coverageOffset = random.nextInt(SIZE - count + 1);
+            int argb = premultiplied(random);
+
+            int[] expected = pixels.clone();
+            int[] actual = pixels.clone();
+            if (i % 3 == 0) {
+                scalar.fill(expected, offset, offset + count, argb);
+                vector.fill(actual, offset, offset + count, argb);
+            } else {
+                int[] covered = i % 3 == 1 ? coverage : null;
+                scalar.blend(expected, offset, count, argb, covered, coverageOffset);
+                vector.blend(actual, offset, count, argb, covered, coverageOffset);
+            }
+            assertArrayEquals(expected, actual, "span " + i);
+        }
+    }
+
+    @Test
+    void antialiasedSpansMatchBlendingPixelByPixel() {
+        Random random = new Random(52);
+        Framebuffer spans = new Framebuffer(SIZE, 200);
+        Framebuffer pixels = new Framebuffer(SIZE, 200);
+        Rasterizer rasterizer = new Rasterizer(spans);
+        // a plain target, so the same lines reach the framebuffer one blendPixel at a time
+        Rasterizer reference = new Rasterizer(new RasterTarget() {
+            @Override
+            public int getWidth() {
+                return pixels.getWidth();
+            }
+
+            @Override
+            public int getHeight() {
+                return pixels.getHeight();
+            }
+
+            @Override
+            public void setPixel(int x, int y, int argb) {
+                pixels.setPixel(x, y, argb);
+            }
+
+            @Override
+            public void blendPixel(int x, int y, int argb, int alpha) {
+                pixels.blendPixel(x, y, argb, alpha);
+            }
+        });
+        for (int i = 0; i < 500; i++) {
+            int x1 = random.nextInt(SIZE + 200) - 100;
+            int y1 = random.nextInt(400) - 100;
+            int x2 = random.nextInt(SIZE + 200) - 100;
+            int y2 = i % 2 == 0 ? y1 + random.nextInt(21) - 10 : random.nextInt(400) - 100;
+            int argb = premultiplied(random);
+            rasterizer.drawLines(new int[]{x1, y1, x2, y2}, 1, argb, LineAlgorithm.WU);
+            reference.drawLines(new int[]{x1, y1, x2, y2}, 1, argb, LineAlgorithm.WU);
+        }
+        assertArrayEquals(ParallelRendererTest.pixels(pixels), ParallelRendererTest.pixels(spans));
+    }
+
+    private static int premultiplied(Random random) {
+        int alpha = random.nextInt(4) == 0 ? 255 : random.nextInt(256);
+        int argb = alpha << 24;
+        for (int shift = 0; shift < 24; shift += 8) {
+            argb |= random.nextInt(alpha + 1) << shift;
+        }
+        return argb;
+    }
+}
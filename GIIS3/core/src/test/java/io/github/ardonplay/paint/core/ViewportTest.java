@@ -0,0 +1,174 @@
+package io.github.ardonplay.paint.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Panning and zooming must only move and scale what is drawn: every mode keeps its shape, stays
+ * inside the transformed bounds it is indexed by, and the level-of-detail shortcuts draw the pixels
+ * of the full drawing.
+ */
+class ViewportTest {
+
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 300;
+
+    @Test
+    void panningMovesEveryModeUnchanged() {
+        Random random = new Random(31);
+        for (String mode : RasterAlgorithms.modes()) {
+            for (int i = 0; i < 20; i++) {
+                Primitive primitive = Primitive.of(mode, random.nextInt(WIDTH), random.nextInt(HEIGHT),
+                        random.nextInt(WIDTH), random.nextInt(HEIGHT), 0xFF000000);
+                int panX = random.nextInt(201) - 100;
+                int panY = random.nextInt(201) - 100;
+                double originX = random.nextInt(2001) - 1000;
+                double originY = random.nextInt(2001) - 1000;
+                int[] before = ParallelRendererTest.pixels(draw(primitive, originX, originY, 1));
+                int[] after = ParallelRendererTest.pixels(draw(primitive, originX - panX, originY - panY, 1));
+                // the part of the first view still on screen, moved by the pan
+                int[] moved = new int[WIDTH * HEIGHT];
+                int[] kept = new int[WIDTH * HEIGHT];
+                for (int y = Math.max(0, panY); y < Math.min(HEIGHT, HEIGHT + panY); y++) {
+                    for (int x = Math.max(0, panX); x < Math.min(WIDTH, WIDTH + panX); x++) {
+                        moved[y * WIDTH + x] = before[(y - panY) * WIDTH + x - panX];
+                        kept[y * WIDTH + x] = after[y * WIDTH + x];
+                    }
+                }
+                assertArrayEquals(moved, kept, primitive.mode() + " " + Arrays.toString(primitive.points())
+                        + " panned by " + panX + "," + panY);
+            }
+        }
+    }
+
+    @Test
+    void everyModeStaysInsideItsTransformedBounds() {
+        Random random = new Random(32);
+        int[] bounds = new int[4];
+        for (double scale : new double[]{1.0 / 64, 0.3, 1, 3.7, 40}) {
+            Viewport viewport = new Viewport();
+            for (String mode : RasterAlgorithms.modes()) {
+                for (int i = 0; i < 30; i++) {
+                    viewport.set(random.nextInt(2001) - 1000 + random.nextDouble(), random.nextInt(2001) - 1000, scale);
+                    // points spreading up to 400 px on screen
+                    int reach = (int) Math.ceil(400 / scale);
+                    int x1 = (int) viewport.getOriginX() + random.nextInt(reach);
+                    int y1 = (int) viewport.getOriginY() + random.nextInt(reach);
+                    Primitive primitive = Primitive.of(mode, x1, y1, x1 + random.nextInt(2 * reach) - reach,
+                            y1 + random.nextInt(2 * reach) - reach, 0xFF000000);
+                    if (!primitive.bounds(bounds))
+                        continue;
+                    int minX = viewport.toScreenX(bounds[0]) - SceneModel.SCREEN_MARGIN;
+                    int minY = viewport.toScreenY(bounds[1]) - SceneModel.SCREEN_MARGIN;
+                    int maxX = viewport.toScreenX(bounds[2]) + SceneModel.SCREEN_MARGIN;
+                    int maxY = viewport.toScreenY(bounds[3]) + SceneModel.SCREEN_MARGIN;
+                    int[] outside = new int[3];
+                    new ViewportRenderer(viewport).draw(new Rasterizer(new RasterTarget() {
+                        @Override
+                        public int getWidth() {
+                            return 2048;
+                        }
+
+                        @Override
+                        public int getHeight() {
+                            return 2048;
+                        }
+
+                        @Override
+                        public int getMinX() {
+                            return -2048;
+                        }
+
+                        @Override
+                        public int getMinY() {
+                            return -2048;
+                        }
+
+                        @Override
+                        public void setPixel(int x, int y, int argb) {
+                            if (x < minX || x > maxX || y < minY || y > maxY) {
+                                outside[0]++;
+                                outside[1] = x;
+                                outside[2] = y;
+                            }
+                        }
+                    }), primitive);
+                    assertEquals(0, outside[0], mode + " " + Arrays.toString(primitive.points()) + " at scale " + scale
+                            + " draws " + outside[1] + "," + outside[2] + " outside " + minX + "," + minY + " " + maxX + "," + maxY);
+                }
+            }
+        }
+    }
+
+    @Test
+    void collapsedPrimitivesPlotTheirPixel() {
+        Random random = new Random(33);
+        for (String mode : RasterAlgorithms.modes()) {
+            // the only unbounded mode, which runs on to the window's edges
+            if (mode.equals("Hyperbola"))
+                continue;
+            for (int i = 0; i < 20; i++) {
+                int x = random.nextInt(WIDTH) * 4096;
+                int y = random.nextInt(HEIGHT) * 4096;
+                // both points fall in the same pixel of the zoomed-out view
+                Primitive primitive = Primitive.of(mode, x + random.nextInt(1000), y + random.nextInt(1000),
+                        x + random.nextInt(1000), y + random.nextInt(1000), 0xFF000000);
+                int[] pixels = ParallelRendererTest.pixels(draw(primitive, 0, 0, Viewport.MIN_SCALE));
+                int pixel = y / 4096 * WIDTH + x / 4096;
+                assertEquals(0xFF000000, pixels[pixel], mode + " does not plot its pixel");
+                pixels[pixel] = 0;
+                assertArrayEquals(new int[WIDTH * HEIGHT], pixels, mode + " draws beyond its pixel");
+            }
+        }
+    }
+
+    @Test
+    void decimatedChainsDrawTheSegmentsPixels() {
+        Random random = new Random(34);
+        SceneModel scene = new SceneModel(new Framebuffer(WIDTH, HEIGHT));
+        List<Primitive> segments = new ArrayList<>();
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < 20_000; i++) {
+            int nextX = x + random.nextInt(41) - 18;
+            int nextY = y + random.nextInt(41) - 20;
+            segments.add(Primitive.of("Bresenham", x, y, nextX, nextY, 0xFF000000));
+            x = nextX;
+            y = nextY;
+        }
+        segments.forEach(scene::add);
+        for (double scale : new double[]{0.02, 0.1, 0.5}) {
+            double originX = -WIDTH / 4.0 / scale;
+            double originY = -HEIGHT / 2.0 / scale;
+            scene.getViewport().set(originX, originY, scale);
+            scene.invalidateAll();
+            scene.validate();
+
+            // every segment drawn on its own, with no chain to decimate
+            Framebuffer separate = new Framebuffer(WIDTH, HEIGHT);
+            Viewport viewport = new Viewport();
+            viewport.set(originX, originY, scale);
+            ViewportRenderer renderer = new ViewportRenderer(viewport);
+            Rasterizer rasterizer = new Rasterizer(separate);
+            for (Primitive segment : segments) {
+                renderer.draw(rasterizer, segment);
+            }
+            assertArrayEquals(ParallelRendererTest.pixels(separate), ParallelRendererTest.pixels(scene.getFramebuffer()),
+                    "scale " + scale);
+        }
+    }
+
+    private static Framebuffer draw(Primitive primitive, double originX, double originY, double scale) {
+        SceneModel scene = new SceneModel(new Framebuffer(WIDTH, HEIGHT));
+        scene.getViewport().set(originX, originY, scale);
+        scene.add(primitive);
+        return scene.getFramebuffer();
+    }
+}
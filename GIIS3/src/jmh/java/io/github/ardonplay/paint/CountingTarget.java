@@ -0,0 +1,42 @@
+package io.github.ardonplay.paint;
+
+import io.github.ardonplay.paint.core.RasterTarget;
+
+/**
+ * Counts pixel writes, used once per trial to learn how many pixels an operation produces.
+ */
+class CountingTarget implements RasterTarget {
+
+    private final int width;
+    private final int height;
+    private long count;
+
+    CountingTarget(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public void setPixel(int x, int y, int argb) {
+        count++;
+    }
+
+    @Override
+    public void blendPixel(int x, int y, int argb, int alpha) {
+        count++;
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.ardonplay.paint;
+
+import io.github.ardonplay.paint.core.CurveTessellation;
+import io.github.ardonplay.paint.core.Rasterizer;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * drawBezierCurve and drawBSpline swept over the curve degree (control point count minus one) and
+ * the curve tessellation.
+ */
+public class CurveBenchmark extends RasterBenchmark {
+
+    @Param({"Bezier", "BSpline"})
+    private String mode;
+
+    @Param({"3", "5", "8"})
+    private int degree;
+
+    @Param({"FIXED_STEP", "ADAPTIVE"})
+    private CurveTessellation tessellation;
+
+    private int[] points;
+    private boolean bezier;
+
+    @Override
+    protected void prepare() {
+        int count = degree + 1;
+        points = new int[count * 2];
+        for (int i = 0; i < count; i++) {
+            points[2 * i] = SIZE / 4 + i * (SIZE / 2) / degree;
+            points[2 * i + 1] = i % 2 == 0 ? SIZE / 4 : 3 * SIZE / 4;
+        }
+        bezier = mode.equals("Bezier");
+    }
+
+    @Override
+    protected String mode() {
+        return mode;
+    }
+
+    @Override
+    protected void configure(Rasterizer rasterizer) {
+        rasterizer.setCurveTessellation(tessellation);
+    }
+
+    @Override
+    protected void render() {
+        if (bezier)
+            rasterizer.drawBezierCurve(points, degree + 1, ARGB);
+        else
+            rasterizer.drawBSpline(points, degree + 1, ARGB);
+    }
+}
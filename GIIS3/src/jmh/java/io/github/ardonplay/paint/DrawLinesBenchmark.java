@@ -0,0 +1,61 @@
+package io.github.ardonplay.paint;
+
+import io.github.ardonplay.paint.core.Framebuffer;
+import io.github.ardonplay.paint.core.LineAlgorithm;
+import javafx.scene.paint.Color;
+import javafx.util.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DrawLinesBenchmark {
+
+    private static final int WIDTH = 1000;
+    private static final int HEIGHT = 600;
+
+    @Param({"10000", "100000"})
+    private int segments;
+
+    private int[] coords;
+    private DrawService drawService;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        coords = new int[segments * 4];
+        for (int i = 0; i < coords.length; i += 2) {
+            coords[i] = random.nextInt(WIDTH);
+            coords[i + 1] = random.nextInt(HEIGHT);
+        }
+        drawService = new DrawServiceImpl(new Framebuffer(WIDTH, HEIGHT));
+    }
+
+    @Benchmark
+    public void drawLines() {
+        drawService.drawLines(coords, segments, 0xFF000000, LineAlgorithm.BRESENHAM);
+    }
+
+    @Benchmark
+    public void bresenhamLinePerCall() {
+        for (int i = 0; i < segments * 4; i += 4) {
+            drawService.bresenhamLine(new Pair<>(coords[i], coords[i + 1]), new Pair<>(coords[i + 2], coords[i + 3]), Color.BLACK);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.ardonplay.paint;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * bresenhamLine, runSliceLine, basicLine (DDA) and vuLine swept over length and slope, centred in the target.
+ */
+public class LineBenchmark extends RasterBenchmark {
+
+    @Param({"DDA", "Bresenham", "RunSlice", "Vu"})
+    private String mode;
+
+    @Param({"16", "256", "2048"})
+    private int length;
+
+    @Param({"0", "30", "45", "60", "90"})
+    private int angle;
+
+    private int x1, y1, x2, y2;
+
+    @Override
+    protected void prepare() {
+        double radians = Math.toRadians(angle);
+        int dx = (int) Math.round(length / 2.0 * Math.cos(radians));
+        int dy = (int) Math.round(length / 2.0 * Math.sin(radians));
+        x1 = SIZE / 2 - dx;
+        y1 = SIZE / 2 - dy;
+        x2 = SIZE / 2 + dx;
+        y2 = SIZE / 2 + dy;
+    }
+
+    @Override
+    protected String mode() {
+        return mode;
+    }
+
+    @Override
+    protected void render() {
+        rasterizer.printLine(x1, y1, x2, y2, ARGB);
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.ardonplay.paint;
+
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.paint.Color;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Headless stand-in for a canvas {@link PixelWriter} that stores pixels in an int array.
+ */
+class MemoryPixelWriter implements PixelWriter {
+
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+
+    MemoryPixelWriter(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.pixels = new int[width * height];
+    }
+
+    @Override
+    public PixelFormat<IntBuffer> getPixelFormat() {
+        return PixelFormat.getIntArgbInstance();
+    }
+
+    @Override
+    public void setArgb(int x, int y, int argb) {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+            return;
+        pixels[y * width + x] = argb;
+    }
+
+    @Override
+    public void setColor(int x, int y, Color c) {
+        setArgb(x, y, (int) Math.round(c.getOpacity() * 255) << 24
+                | (int) Math.round(c.getRed() * 255) << 16
+                | (int) Math.round(c.getGreen() * 255) << 8
+                | (int) Math.round(c.getBlue() * 255));
+    }
+
+    @Override
+    public <T extends Buffer> void setPixels(int x, int y, int w, int h, PixelFormat<T> pixelformat, T buffer, int scanlineStride) {
+        throw new UnsupportedOperationException("bulk writes are not benchmarked");
+    }
+
+    @Override
+    public void setPixels(int x, int y, int w, int h, PixelFormat<ByteBuffer> pixelformat, byte[] buffer, int offset, int scanlineStride) {
+        throw new UnsupportedOperationException("bulk writes are not benchmarked");
+    }
+
+    @Override
+    public void setPixels(int x, int y, int w, int h, PixelFormat<IntBuffer> pixelformat, int[] buffer, int offset, int scanlineStride) {
+        throw new UnsupportedOperationException("bulk writes are not benchmarked");
+    }
+
+    @Override
+    public void setPixels(int dstx, int dsty, int w, int h, PixelReader reader, int srcx, int srcy) {
+        throw new UnsupportedOperationException("bulk writes are not benchmarked");
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.ardonplay.paint;
+
+import io.github.ardonplay.paint.core.Framebuffer;
+import io.github.ardonplay.paint.core.ParallelRenderer;
+import io.github.ardonplay.paint.core.Primitive;
+import io.github.ardonplay.paint.core.Rasterizer;
+import io.github.ardonplay.paint.core.SceneModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full redraw of a scene on a 1920x1080 framebuffer by worker count: {@code 0} draws sequentially,
+ * any other count tiles the redraw over a pool of that many workers, both through
+ * {@link SceneModel#validate} and through {@link ParallelRenderer#render} on its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelRenderBenchmark {
+
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+
+    @Param({"0", "1", "2", "4", "8"})
+    private int workers;
+
+    @Param({"Bresenham", "Vu", "Disk", "Bezier"})
+    private String mode;
+
+    private final List<Primitive> primitives = new ArrayList<>();
+    private ForkJoinPool pool;
+    private SceneModel scene;
+    private ParallelRenderer renderer;
+    private Framebuffer framebuffer;
+    private Rasterizer rasterizer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            int x = random.nextInt(WIDTH);
+            int y = random.nextInt(HEIGHT);
+            primitives.add(Primitive.of(mode, x, y, x + random.nextInt(129) - 64, y + random.nextInt(129) - 64, 0xFF000000));
+        }
+        scene = new SceneModel(new Framebuffer(WIDTH, HEIGHT, true));
+        if (workers > 0) {
+            pool = new ForkJoinPool(workers);
+            renderer = new ParallelRenderer(pool);
+            scene.setParallelRenderer(renderer);
+        }
+        for (Primitive primitive : primitives) {
+            scene.add(primitive);
+        }
+        framebuffer = new Framebuffer(WIDTH, HEIGHT, true);
+        rasterizer = new Rasterizer(framebuffer);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null)
+            pool.shutdown();
+    }
+
+    @Benchmark
+    public Framebuffer validate() {
+        scene.invalidateAll();
+        scene.validate();
+        return scene.getFramebuffer();
+    }
+
+    @Benchmark
+    public Framebuffer render() {
+        framebuffer.clear(0, 0, WIDTH, HEIGHT);
+        if (renderer == null) {
+            for (Primitive primitive : primitives) {
+                primitive.draw(rasterizer);
+            }
+        } else {
+            renderer.render(primitives, framebuffer);
+        }
+        return framebuffer;
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.ardonplay.paint;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reports pixel writes next to the primary result, so throughput runs also show pixels per time unit.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class PixelCounter {
+
+    public long pixels;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        pixels = 0;
+    }
+}
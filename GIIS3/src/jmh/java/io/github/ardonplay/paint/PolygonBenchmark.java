@@ -0,0 +1,40 @@
+package io.github.ardonplay.paint;
+
+import io.github.ardonplay.paint.core.FillRule;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * fillPolygon over a spiky polygon whose vertices alternate between two radii, swept over the
+ * vertex count and the fill rule.
+ */
+public class PolygonBenchmark extends RasterBenchmark {
+
+    @Param({"EVEN_ODD", "NON_ZERO"})
+    private FillRule rule;
+
+    @Param({"5", "1000", "100000"})
+    private int vertices;
+
+    private int[] points;
+
+    @Override
+    protected void prepare() {
+        points = new int[vertices * 2];
+        for (int i = 0; i < vertices; i++) {
+            double angle = 2 * Math.PI * i / vertices;
+            double radius = i % 2 == 0 ? SIZE * 0.45 : SIZE * 0.3;
+            points[2 * i] = SIZE / 2 + (int) Math.round(radius * Math.cos(angle));
+            points[2 * i + 1] = SIZE / 2 + (int) Math.round(radius * Math.sin(angle));
+        }
+    }
+
+    @Override
+    protected String mode() {
+        return rule == FillRule.EVEN_ODD ? "StarEvenOdd" : "StarNonZero";
+    }
+
+    @Override
+    protected void render() {
+        rasterizer.fillPolygon(points, vertices, rule, ARGB);
+    }
+}
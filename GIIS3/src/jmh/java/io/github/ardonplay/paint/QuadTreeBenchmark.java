@@ -0,0 +1,77 @@
+package io.github.ardonplay.paint;
+
+import io.github.ardonplay.paint.core.QuadTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point and rectangle queries against the quadtree, next to the linear scan they replace.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuadTreeBenchmark {
+
+    private static final int SIZE = 20000;
+
+    @Param({"10000", "1000000"})
+    private int primitives;
+
+    private int[] boxes;
+    private QuadTree index;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        boxes = new int[primitives * 4];
+        index = new QuadTree();
+        for (int i = 0; i < primitives; i++) {
+            int x = random.nextInt(SIZE);
+            int y = random.nextInt(SIZE);
+            boxes[i * 4] = x;
+            boxes[i * 4 + 1] = y;
+            boxes[i * 4 + 2] = x + random.nextInt(64);
+            boxes[i * 4 + 3] = y + random.nextInt(64);
+            index.insert(i, boxes[i * 4], boxes[i * 4 + 1], boxes[i * 4 + 2], boxes[i * 4 + 3]);
+        }
+    }
+
+    @Benchmark
+    public void pointQuery(Blackhole blackhole) {
+        index.query(random.nextInt(SIZE), random.nextInt(SIZE), blackhole::consume);
+    }
+
+    @Benchmark
+    public void rectangleQuery(Blackhole blackhole) {
+        int x = random.nextInt(SIZE);
+        int y = random.nextInt(SIZE);
+        index.query(x, y, x + 256, y + 256, blackhole::consume);
+    }
+
+    @Benchmark
+    public void pointScan(Blackhole blackhole) {
+        int x = random.nextInt(SIZE);
+        int y = random.nextInt(SIZE);
+        for (int i = 0; i < primitives; i++) {
+            if (boxes[i * 4] <= x && boxes[i * 4 + 1] <= y && boxes[i * 4 + 2] >= x && boxes[i * 4 + 3] >= y)
+                blackhole.consume(i);
+        }
+    }
+}
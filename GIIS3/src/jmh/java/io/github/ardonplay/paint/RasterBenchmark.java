@@ -0,0 +1,85 @@
+package io.github.ardonplay.paint;
+
+import io.github.ardonplay.paint.core.Framebuffer;
+import io.github.ardonplay.paint.core.RasterTarget;
+import io.github.ardonplay.paint.core.Rasterizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Common state of the rasterizer benchmarks: a headless {@link Rasterizer} drawing either into a
+ * {@link Framebuffer} or through a {@link PixelWriterTarget} over an in-memory {@code PixelWriter}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class RasterBenchmark {
+
+    protected static final int SIZE = 4096;
+    protected static final int ARGB = 0xFF000000;
+
+    @Param({"framebuffer", "pixelWriter"})
+    private String target;
+
+    protected Rasterizer rasterizer;
+    protected long pixelsPerOp;
+
+    @Setup(Level.Trial)
+    public void setUpTarget() {
+        prepare();
+
+        CountingTarget counter = new CountingTarget(SIZE, SIZE);
+        rasterizer = new Rasterizer(counter);
+        rasterizer.setMode(mode());
+        configure(rasterizer);
+        render();
+        pixelsPerOp = counter.getCount();
+
+        rasterizer = new Rasterizer(switch (target) {
+            case "framebuffer" -> new Framebuffer(SIZE, SIZE);
+            case "pixelWriter" -> new PixelWriterTarget(new MemoryPixelWriter(SIZE, SIZE), SIZE, SIZE);
+            default -> throw new IllegalArgumentException(target);
+        });
+        rasterizer.setMode(mode());
+        configure(rasterizer);
+    }
+
+    @Benchmark
+    public void rasterize(PixelCounter counter) {
+        render();
+        counter.pixels += pixelsPerOp;
+    }
+
+    /**
+     * Builds the benchmark input; called before the pixel count is taken.
+     */
+    protected abstract void prepare();
+
+    protected abstract String mode();
+
+    /**
+     * Applies benchmark parameters other than the mode to a freshly created rasterizer.
+     */
+    protected void configure(Rasterizer rasterizer) {
+    }
+
+    /**
+     * The measured operation.
+     */
+    protected abstract void render();
+}
@@ -0,0 +1,26 @@
+package io.github.ardonplay.paint;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * drawCircle, fillCircle, drawAntialiasedCircle, drawEllipse, drawParabola, drawHyperbola and drawHermiteCurve as printLine draws them.
+ */
+public class ShapeBenchmark extends RasterBenchmark {
+
+    @Param({"Circle", "Disk", "VuCircle", "Ellipse", "Parabola", "Hyperbola", "Hermite"})
+    private String mode;
+
+    @Override
+    protected void prepare() {
+    }
+
+    @Override
+    protected String mode() {
+        return mode;
+    }
+
+    @Override
+    protected void render() {
+        rasterizer.printLine(SIZE / 2, SIZE / 2, SIZE / 2 + 300, SIZE / 2 + 200, ARGB);
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.ardonplay.paint;
+
+import io.github.ardonplay.paint.core.Framebuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Framebuffer span fills, blends and clears with the Vector API kernels against the scalar loops.
+ * Each trial runs in its own fork, so the kernel is picked through {@code paint.vector} before the
+ * framebuffer is first used.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpanBenchmark {
+
+    private static final int SIZE = 4096;
+
+    @Param({"vector", "scalar"})
+    private String kernel;
+
+    @Param({"16", "256", "4096"})
+    private int length;
+
+    private Framebuffer framebuffer;
+    private int[] coverage;
+    private int row;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("paint.vector", Boolean.toString(kernel.equals("vector")));
+        framebuffer = new Framebuffer(SIZE, SIZE);
+        coverage = new int[length];
+        Random random = new Random(42);
+        for (int i = 0; i < length; i++) {
+            coverage[i] = random.nextInt(256);
+        }
+    }
+
+    private int nextRow() {
+        row = (row + 1) & (SIZE - 1);
+        return row;
+    }
+
+    @Benchmark
+    public void fill() {
+        framebuffer.fillSpan(0, nextRow(), length, 0xFF102030);
+    }
+
+    @Benchmark
+    public void blend() {
+        framebuffer.blendSpan(0, nextRow(), length, 0x80081018, null, 0);
+    }
+
+    @Benchmark
+    public void blendCoverage() {
+        framebuffer.blendSpan(0, nextRow(), length, 0xFF102030, coverage, 0);
+    }
+
+    @Benchmark
+    public void clear() {
+        int y = nextRow();
+        framebuffer.clear(0, y, length, y + 1);
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.ardonplay.paint;
+
+import io.github.ardonplay.paint.core.Framebuffer;
+import io.github.ardonplay.paint.core.ParallelRenderer;
+import io.github.ardonplay.paint.core.SceneModel;
+import io.github.ardonplay.paint.core.SceneRenderer;
+import javafx.application.Platform;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.control.Alert;
+import javafx.scene.image.PixelFormat;
+
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the canvas in sync with the retained scene without rasterizing on the FX thread. The scene
+ * belongs to a {@link SceneRenderer} on its own render thread: changes are queued with
+ * {@link #submit}, and the FX thread only copies the front snapshot into the canvas. Input arriving
+ * while a render is in flight is applied by the next render in one batch, so a slow primitive
+ * delays the picture, never the event loop. On a multi-core machine the invalid rectangles are
+ * redrawn tile by tile in parallel. A change that fails is reported in an alert.
+ */
+public class CanvasPresenter {
+
+    private final Canvas canvas;
+    private final SceneRenderer renderer;
+
+    public CanvasPresenter(Canvas canvas) {
+        this.canvas = canvas;
+        // on the heap, so that fills and antialiased spans run through the vector kernels; the canvas
+        // takes its pixels from the int[] snapshot either way
+        SceneModel scene = new SceneModel(new Framebuffer((int) canvas.getWidth(), (int) canvas.getHeight()));
+        // the render thread fans large redraws out over the common pool
+        if (Runtime.getRuntime().availableProcessors() > 1)
+            scene.setParallelRenderer(new ParallelRenderer());
+        this.renderer = new SceneRenderer(scene,
+                Executors.newSingleThreadExecutor(task -> {
+                    Thread thread = new Thread(task, "scene-render");
+                    thread.setDaemon(true);
+                    return thread;
+                }),
+                () -> Platform.runLater(this::present),
+                e -> Platform.runLater(() -> new Alert(Alert.AlertType.ERROR, e.toString()).show()));
+    }
+
+    /**
+     * Queues a change of the scene for the render thread, which is the only one to touch the scene.
+     */
+    public void submit(Consumer<SceneModel> change) {
+        renderer.submit(change);
+    }
+
+    public void resize() {
+        int width = (int) canvas.getWidth();
+        int height = (int) canvas.getHeight();
+        submit(scene -> scene.resize(width, height));
+    }
+
+    private void present() {
+        renderer.present((x, y, width, height, pixels, offset, stride) -> canvas.getGraphicsContext2D().getPixelWriter()
+                .setPixels(x, y, width, height, PixelFormat.getIntArgbPreInstance(), pixels, offset, stride));
+    }
+}
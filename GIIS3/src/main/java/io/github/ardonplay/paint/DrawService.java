@@ -1,5 +1,8 @@
 package io.github.ardonplay.paint;
 
+import io.github.ardonplay.paint.core.FillRule;
+import io.github.ardonplay.paint.core.LineAlgorithm;
+import io.github.ardonplay.paint.core.Points;
 import javafx.scene.paint.Color;
 import javafx.util.Pair;
 
@@ -7,27 +10,126 @@ import java.util.List;
 
 public interface DrawService {
     void setMode(String mode);
-    void printLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color);
 
-    void basicLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color);
+    void printLine(int x1, int y1, int x2, int y2, Color color);
 
-    void bresenhamLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color);
+    /**
+     * @param argb premultiplied ARGB color
+     */
+    void printLine(int x1, int y1, int x2, int y2, int argb);
 
-    void vuLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color);
+    void basicLine(int x1, int y1, int x2, int y2, Color color);
 
-    void drawCircle(Pair<Integer, Integer> center, Color color);
+    void bresenhamLine(int x1, int y1, int x2, int y2, Color color);
 
-    void drawEllipse(Pair<Integer, Integer> center, int a, int b, Color color);
+    void vuLine(int x1, int y1, int x2, int y2, Color color);
 
-    void drawParabola(Pair<Integer, Integer> focus, int a, int direction, Color color);
+    /**
+     * Draws {@code count} segments in one pass.
+     *
+     * @param coords segments stored as {@code x1, y1, x2, y2, ...}
+     * @param argb   premultiplied ARGB color
+     */
+    void drawLines(int[] coords, int count, int argb, LineAlgorithm algorithm);
 
-    void drawHyperbola(Pair<Integer, Integer> center, int a, int b, Color color);
+    void drawCircle(int centerX, int centerY, int radius, Color color);
 
-    void drawHermiteCurve(Pair<Integer, Integer> startPoint, Pair<Integer, Integer> endPoint,
-                                 Pair<Integer, Integer> startTangent, Pair<Integer, Integer> endTangent,
-                                 Color color);
-    void drawBezierCurve(List<Pair<Integer, Integer>> controlPoints, Color color);
+    void fillCircle(int centerX, int centerY, int radius, Color color);
 
-    void drawBSpline(List<Pair<Integer, Integer>> controlPoints, Color color);
+    void drawAntialiasedCircle(int centerX, int centerY, int radius, Color color);
+
+    void drawEllipse(int centerX, int centerY, int a, int b, Color color);
+
+    void drawParabola(int vertexX, int vertexY, int halfWidth, int height, Color color);
+
+    void drawHyperbola(int centerX, int centerY, int a, int b, Color color);
+
+    void drawHermiteCurve(int startX, int startY, int endX, int endY,
+                          int startTanX, int startTanY, int endTanX, int endTanY,
+                          Color color);
+
+    /**
+     * @param points {@code count} control points stored as {@code x0, y0, x1, y1, ...}
+     */
+    void drawBezierCurve(int[] points, int count, Color color);
+
+    /**
+     * @param points {@code count} control points packed with {@link Points#pack}
+     */
+    void drawBezierCurve(long[] points, int count, Color color);
+
+    void drawBSpline(int[] points, int count, Color color);
+
+    void drawBSpline(long[] points, int count, Color color);
+
+    /**
+     * @param points {@code count} vertices stored as {@code x0, y0, x1, y1, ...}
+     */
+    void fillPolygon(int[] points, int count, FillRule rule, Color color);
+
+    /**
+     * @param points {@code count} vertices packed with {@link Points#pack}
+     */
+    void fillPolygon(long[] points, int count, FillRule rule, Color color);
+
+    default void printLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color) {
+        printLine(firstPoint.getKey(), firstPoint.getValue(), secondPoint.getKey(), secondPoint.getValue(), color);
+    }
+
+    default void basicLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color) {
+        basicLine(firstPoint.getKey(), firstPoint.getValue(), secondPoint.getKey(), secondPoint.getValue(), color);
+    }
+
+    default void bresenhamLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color) {
+        bresenhamLine(firstPoint.getKey(), firstPoint.getValue(), secondPoint.getKey(), secondPoint.getValue(), color);
+    }
+
+    default void vuLine(Pair<Integer, Integer> firstPoint, Pair<Integer, Integer> secondPoint, Color color) {
+        vuLine(firstPoint.getKey(), firstPoint.getValue(), secondPoint.getKey(), secondPoint.getValue(), color);
+    }
+
+    default void drawCircle(Pair<Integer, Integer> center, int radius, Color color) {
+        drawCircle(center.getKey(), center.getValue(), radius, color);
+    }
+
+    default void drawEllipse(Pair<Integer, Integer> center, int a, int b, Color color) {
+        drawEllipse(center.getKey(), center.getValue(), a, b, color);
+    }
+
+    default void drawParabola(Pair<Integer, Integer> vertex, int halfWidth, int height, Color color) {
+        drawParabola(vertex.getKey(), vertex.getValue(), halfWidth, height, color);
+    }
+
+    default void drawHyperbola(Pair<Integer, Integer> center, int a, int b, Color color) {
+        drawHyperbola(center.getKey(), center.getValue(), a, b, color);
+    }
+
+    default void drawHermiteCurve(Pair<Integer, Integer> startPoint, Pair<Integer, Integer> endPoint,
+                                  Pair<Integer, Integer> startTangent, Pair<Integer, Integer> endTangent,
+                                  Color color) {
+        drawHermiteCurve(startPoint.getKey(), startPoint.getValue(), endPoint.getKey(), endPoint.getValue(),
+                startTangent.getKey(), startTangent.getValue(), endTangent.getKey(), endTangent.getValue(), color);
+    }
+
+    default void drawBezierCurve(List<Pair<Integer, Integer>> controlPoints, Color color) {
+        drawBezierCurve(toArray(controlPoints), controlPoints.size(), color);
+    }
+
+    default void drawBSpline(List<Pair<Integer, Integer>> controlPoints, Color color) {
+        drawBSpline(toArray(controlPoints), controlPoints.size(), color);
+    }
+
+    default void fillPolygon(List<Pair<Integer, Integer>> vertices, FillRule rule, Color color) {
+        fillPolygon(toArray(vertices), vertices.size(), rule, color);
+    }
+
+    private static int[] toArray(List<Pair<Integer, Integer>> points) {
+        int[] result = new int[points.size() * 2];
+        for (int i = 0; i < points.size(); i++) {
+            result[2 * i] = points.get(i).getKey();
+            result[2 * i + 1] = points.get(i).getValue();
+        }
+        return result;
+    }
 
 }
@@ -1,36 +1,53 @@
 package io.github.ardonplay.paint;
 
+import io.github.ardonplay.paint.core.Primitive;
+import io.github.ardonplay.paint.core.Viewport;
 import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.util.Pair;
+import javafx.scene.input.MouseButton;
 import javafx.scene.paint.Color;
 
 public class LinesController {
     private Canvas canvas;
-    private Pair<Integer, Integer> firstPoint;
-    private Pair<Integer, Integer> secondPoint;
 
-    private final DrawService drawService;
+    /**
+     * World coordinates of the first click; converted and read on the render thread only,
+     * where the viewport is current.
+     */
+    private int firstX;
+    private int firstY;
+
+    private final CanvasPresenter presenter;
+    private String mode;
     private boolean tapped;
 
-    public LinesController(Canvas canvas) {
+    public LinesController(Canvas canvas, CanvasPresenter presenter) {
         this.canvas = canvas;
-        GraphicsContext gc = canvas.getGraphicsContext2D();
-        this.drawService = new DrawServiceImpl(gc.getPixelWriter());
+        this.presenter = presenter;
     }
 
     public void subscribe(String mode) {
-        drawService.setMode(mode);
+        this.mode = mode;
         this.canvas.setOnMousePressed(event -> {
-            int x = (int) event.getX();
-            int y = (int) event.getY();
+            // the other buttons pan the view
+            if (event.getButton() != MouseButton.PRIMARY)
+                return;
+            double x = event.getX();
+            double y = event.getY();
 
             if (!tapped) {
-                firstPoint = new Pair<>(x, y);
+                presenter.submit(scene -> {
+                    Viewport viewport = scene.getViewport();
+                    firstX = viewport.toWorldX(x);
+                    firstY = viewport.toWorldY(y);
+                });
                 tapped = true;
             } else {
-                secondPoint = new Pair<>(x, y);
-                drawService.printLine(firstPoint, secondPoint, Color.BLACK);
+                String primitiveMode = this.mode;
+                presenter.submit(scene -> {
+                    Viewport viewport = scene.getViewport();
+                    scene.add(Primitive.of(primitiveMode, firstX, firstY, viewport.toWorldX(x), viewport.toWorldY(y),
+                            Colors.argb(Color.BLACK)));
+                });
                 tapped = false;
             }
         });
@@ -40,4 +57,4 @@ public class LinesController {
         this.canvas.setOnMousePressed(event -> {
         });
     }
-}
\ No newline at end of file
+}
@@ -1,20 +1,29 @@
 package io.github.ardonplay.paint;
 
+import io.github.ardonplay.paint.core.RasterAlgorithms;
+import io.github.ardonplay.paint.core.SceneFile;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.scene.canvas.Canvas;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.layout.HBox;
+import javafx.stage.FileChooser;
+
+import java.io.File;
+import java.io.IOException;
 
 public class NavigationBar extends HBox {
     private final LinesController linesController;
 
-    public NavigationBar(Canvas canvas) {
+    public NavigationBar(Canvas canvas, CanvasPresenter presenter) {
         super();
 
-        this.linesController = new LinesController(canvas);
+        this.linesController = new LinesController(canvas, presenter);
 
         ComboBox<String> lineSelector = new ComboBox<>();
-        lineSelector.setItems(FXCollections.observableArrayList("DDA", "Bresenham", "Vu", "Circle", "Ellipse", "Parabola", "Hyperbola","Hermite","Bezier","BSpline"));
+        lineSelector.setItems(FXCollections.observableArrayList(RasterAlgorithms.modes()));
         lineSelector.setPromptText("Lines");
 
         lineSelector.getSelectionModel().selectedItemProperty().addListener((options, oldValue, newValue) -> {
@@ -25,8 +34,40 @@ public class NavigationBar extends HBox {
             }
         });
 
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Scene", "*.scene"));
+
+        Button openButton = new Button("Open");
+        openButton.setOnAction(event -> {
+            File file = fileChooser.showOpenDialog(getScene().getWindow());
+            if (file == null)
+                return;
+            presenter.submit(scene -> {
+                try {
+                    scene.load(SceneFile.map(file.toPath()));
+                } catch (IOException e) {
+                    Platform.runLater(() -> new Alert(Alert.AlertType.ERROR, e.getMessage()).show());
+                }
+            });
+        });
+
+        Button saveButton = new Button("Save");
+        saveButton.setOnAction(event -> {
+            File file = fileChooser.showSaveDialog(getScene().getWindow());
+            if (file == null)
+                return;
+            // the primitives are read where the scene lives
+            presenter.submit(scene -> {
+                try {
+                    SceneFile.write(file.toPath(), scene.getPrimitives());
+                } catch (IOException e) {
+                    Platform.runLater(() -> new Alert(Alert.AlertType.ERROR, e.getMessage()).show());
+                }
+            });
+        });
+
         super.setSpacing(10);
         super.setStyle("-fx-background-color: #665656; -fx-padding: 10px;");
-        super.getChildren().addAll(lineSelector);
+        super.getChildren().addAll(lineSelector, openButton, saveButton);
     }
 }
\ No newline at end of file
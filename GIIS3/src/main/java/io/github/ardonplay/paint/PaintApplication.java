@@ -1,8 +1,12 @@
 package io.github.ardonplay.paint;
 
+import io.github.ardonplay.paint.core.SceneModel;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
@@ -15,15 +19,27 @@ public class PaintApplication extends Application {
 
         Canvas canvas = new Canvas(1000, 600);
 
-        NavigationBar navigationBar = new NavigationBar(canvas);
+        CanvasPresenter presenter = new CanvasPresenter(canvas);
+
+        NavigationBar navigationBar = new NavigationBar(canvas, presenter);
+        new ViewportController(canvas, presenter);
         root.getChildren().add(navigationBar);
         root.getChildren().add(canvas);
         Scene scene = new Scene(root, 1000, 600);
 
 
-        scene.widthProperty().addListener((obs, oldVal, newVal) -> canvas.setWidth((Double) newVal));
+        scene.widthProperty().addListener((obs, oldVal, newVal) -> {
+            canvas.setWidth((Double) newVal);
+            presenter.resize();
+        });
+
+        scene.heightProperty().addListener((obs, oldVal, newVal) -> {
+            canvas.setHeight((Double) newVal);
+            presenter.resize();
+        });
 
-        scene.heightProperty().addListener((obs, oldVal, newVal) -> canvas.setHeight((Double) newVal));
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN),
+                () -> presenter.submit(SceneModel::undo));
 
 
 
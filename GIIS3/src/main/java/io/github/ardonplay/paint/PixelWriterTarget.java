@@ -0,0 +1,35 @@
+package io.github.ardonplay.paint;
+
+import io.github.ardonplay.paint.core.RasterTarget;
+import javafx.scene.image.PixelWriter;
+
+/**
+ * Writes straight through a {@link PixelWriter}, one call per pixel.
+ */
+public class PixelWriterTarget implements RasterTarget {
+
+    private final PixelWriter pixelWriter;
+    private final int width;
+    private final int height;
+
+    public PixelWriterTarget(PixelWriter pixelWriter, int width, int height) {
+        this.pixelWriter = pixelWriter;
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public void setPixel(int x, int y, int argb) {
+        pixelWriter.setArgb(x, y, Colors.unpremultiplied(argb));
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.ardonplay.paint;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+
+/**
+ * Pans the scene while the secondary or middle button is dragged and zooms it around the pointer
+ * on scroll. The handlers are added next to the ones of {@link LinesController}, which only
+ * reacts to the primary button.
+ */
+public class ViewportController {
+
+    /**
+     * Scale change of one scroll notch.
+     */
+    private static final double ZOOM_STEP = 1.25;
+
+    private final CanvasPresenter presenter;
+    private double lastX;
+    private double lastY;
+
+    public ViewportController(Canvas canvas, CanvasPresenter presenter) {
+        this.presenter = presenter;
+        canvas.addEventHandler(ScrollEvent.SCROLL, event -> {
+            if (event.getDeltaY() == 0)
+                return;
+            double factor = event.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP;
+            double x = event.getX();
+            double y = event.getY();
+            presenter.submit(scene -> scene.zoom(factor, x, y));
+        });
+        canvas.addEventHandler(MouseEvent.MOUSE_PRESSED, event -> {
+            lastX = event.getX();
+            lastY = event.getY();
+        });
+        canvas.addEventHandler(MouseEvent.MOUSE_DRAGGED, event -> {
+            if (event.getButton() != MouseButton.SECONDARY && event.getButton() != MouseButton.MIDDLE)
+                return;
+            double deltaX = event.getX() - lastX;
+            double deltaY = event.getY() - lastY;
+            presenter.submit(scene -> scene.pan(deltaX, deltaY));
+            lastX = event.getX();
+            lastY = event.getY();
+        });
+    }
+}